@@ -6,12 +6,18 @@ import org.keremulutas.mockeyjockey.MockeyJockey;
 import org.keremulutas.mockeyjockey.benchmarks.beans.Platform;
 import org.keremulutas.mockeyjockey.benchmarks.beans.User;
 import org.keremulutas.mockeyjockey.core.generator.*;
+import org.keremulutas.mockeyjockey.core.random.*;
+import org.keremulutas.mockeyjockey.core.sink.JsonEncoder;
+import org.keremulutas.mockeyjockey.core.sink.RecordEncoder;
+import org.keremulutas.mockeyjockey.core.sink.Utf8Buffer;
 import org.keremulutas.mockeyjockey.core.type.GenericObject;
 import org.keremulutas.mockeyjockey.utils.Constants;
+import org.keremulutas.mockeyjockey.utils.Utils;
 import org.openjdk.jmh.annotations.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -144,7 +150,17 @@ public class BenchmarkRunner {
             .field("platform", randomPlatformGenerator)
             .field("creditCard", uniqueCreditCardGenerator);
 
-        Generator<Void, GenericObject> userMapGenerator = mj.genericObjects()
+        Generator<Void, User> userSetterLookupGenerator = mj.objectsFromReflection(User.class)
+            .field("userId", userIdGenerator)
+            .field("email", emailGenerator)
+            .field("mobileNumber", mobileNumberGenerator)
+            .field("name", mj.randomSelection(String.class).withElements(Constants.firstNames))
+            .field("surname", mj.randomSelection(String.class).withElements(Constants.lastNames))
+            .field("platform", randomPlatformGenerator)
+            .field("creditCard", uniqueCreditCardGenerator)
+            .withPrecomposedPopulator(false);
+
+        GenericObjectGenerator userMapGenerator = mj.genericObjects()
             .field("userId", userIdGenerator)
             .field("email", emailGenerator)
             .field("mobileNumber", mobileNumberGenerator)
@@ -196,6 +212,15 @@ public class BenchmarkRunner {
             return userGenerator.get();
         }
 
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public User objectFromReflectionWithSetterLookup() {
+            return userSetterLookupGenerator.get();
+        }
+
         @Benchmark
         @Measurement(iterations = 5, time = 1)
         @Fork(value = 1, warmups = 1)
@@ -216,6 +241,75 @@ public class BenchmarkRunner {
 
     }
 
+    @State(Scope.Thread)
+    public static class JsonEncoding {
+
+        int count = 1024;
+
+        UserGenerator users = new UserGenerator();
+
+        GenericObject[] maps = new GenericObject[count];
+        User[] beans = new User[count];
+        int index = 0;
+
+        RecordEncoder<GenericObject> mapEncoder = JsonEncoder.forGenericObjects(users.userMapGenerator);
+        RecordEncoder<User> beanEncoder = JsonEncoder.forBeans(User.class);
+        Utf8Buffer buffer = new Utf8Buffer(1024, true);
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            users.setUp();
+            users.userMapGenerator.fill(maps);
+            users.userGenerator.fill(beans);
+        }
+
+        private int next() {
+            index = ( index + 1 ) & ( count - 1 );
+            return index;
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public byte[] mapWithGson() {
+            return Utils.gson.toJson(maps[next()]).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public int mapWithEncoder() {
+            buffer.clear();
+            mapEncoder.encode(maps[next()], buffer);
+            return buffer.size();
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public byte[] beanWithGson() {
+            return Utils.gson.toJson(beans[next()]).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public int beanWithEncoder() {
+            buffer.clear();
+            beanEncoder.encode(beans[next()], buffer);
+            return buffer.size();
+        }
+
+    }
+
     @State(Scope.Thread)
     public static class RandomInt {
 
@@ -244,6 +338,327 @@ public class BenchmarkRunner {
 
     }
 
+    @State(Scope.Thread)
+    public static class RandomEngines {
+
+        @Param({ "threadLocal", "splittable", "splitMix64", "xoroshiro128Plus", "pcg32" })
+        String engine;
+
+        RandomSource randomSource;
+        IntegerGenerator intGenerator;
+        LongGenerator longGenerator;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            switch (engine) {
+                case "threadLocal":
+                    randomSource = RandomSource.threadLocal();
+                    break;
+                case "splittable":
+                    randomSource = RandomSource.splittable();
+                    break;
+                case "splitMix64":
+                    randomSource = RandomSource.withEngine(SplitMix64Engine::new);
+                    break;
+                case "xoroshiro128Plus":
+                    randomSource = RandomSource.withEngine(Xoroshiro128PlusEngine::new);
+                    break;
+                case "pcg32":
+                    randomSource = RandomSource.withEngine(Pcg32Engine::new);
+                    break;
+                default:
+                    throw new IllegalArgumentException(engine);
+            }
+            MockeyJockey mj = new MockeyJockey(randomSource);
+            intGenerator = mj.integers().min(0).max(1_000);
+            longGenerator = mj.longs().min(0L).max(1_000_000_000_000L);
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public int boundedInt() {
+            return randomSource.current().nextInt(1_000);
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public long boundedLong() {
+            return randomSource.current().nextLong(1_000_000_000_000L);
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public double unitDouble() {
+            return randomSource.current().nextDouble();
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public int intGenerator() {
+            return intGenerator.nextInt();
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public long longGenerator() {
+            return longGenerator.nextLong();
+        }
+
+    }
+
+    // one sequence shared by all benchmark threads. synchronized is the baseline of a plain generator behind a lock
+    @State(Scope.Benchmark)
+    public static class ConcurrentGeneration {
+
+        @Param({ "synchronized", "lockFree", "lockFreeRanges", "striped", "prefetching" })
+        String mode;
+
+        Supplier<Long> generator;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            MockeyJockey mj = new MockeyJockey();
+            Generator<Void, Long> sequence = mj.longSequences().start(1L).diff(1L);
+            switch (mode) {
+                case "synchronized":
+                    generator = () -> {
+                        synchronized (sequence) {
+                            return sequence.get();
+                        }
+                    };
+                    break;
+                case "lockFree":
+                    generator = sequence.concurrent(ConcurrentGenerator.Mode.LOCK_FREE);
+                    break;
+                case "lockFreeRanges":
+                    generator = new ConcurrentGenerator.LockFree<>(sequence, 1024);
+                    break;
+                case "striped":
+                    generator = sequence.concurrent(ConcurrentGenerator.Mode.STRIPED);
+                    break;
+                case "prefetching":
+                    generator = sequence.concurrent(ConcurrentGenerator.Mode.PREFETCHING);
+                    break;
+                default:
+                    throw new IllegalArgumentException(mode);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (generator instanceof AutoCloseable) {
+                try {
+                    ( (AutoCloseable) generator ).close();
+                } catch (Exception e) {
+                    LOGGER.warn("Could not close generator", e);
+                }
+            }
+        }
+
+        @Benchmark
+        @Threads(1)
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public Long threads_1() {
+            return generator.get();
+        }
+
+        @Benchmark
+        @Threads(4)
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public Long threads_4() {
+            return generator.get();
+        }
+
+        @Benchmark
+        @Threads(16)
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public Long threads_16() {
+            return generator.get();
+        }
+
+        @Benchmark
+        @Threads(64)
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public Long threads_64() {
+            return generator.get();
+        }
+
+    }
+
+    // vector based concurrent selections against the lock free cursor and the striped pool. the draining selections
+    // are refilled before every iteration and take a fixed batch of values per thread, less than the pool holds
+    @State(Scope.Benchmark)
+    public static class ConcurrentSelection {
+
+        @Param({ "vector", "lockFree" })
+        String implementation;
+
+        int poolSize = 100_000;
+        List<String> values = new ArrayList<>();
+
+        MockeyJockey mj = new MockeyJockey();
+        Generator<Void, String> sequential;
+        Generator<Void, String> draining;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            for (int i = 0; i < 10_000; i++) {
+                values.add(String.valueOf(i));
+            }
+            if (implementation.equals("vector")) {
+                sequential = mj.sequentialConcurrentSelection(String.class).source(new Vector<>(values)).isCircular(true);
+            } else {
+                sequential = mj.sequentialConcurrentArraySelection(String.class).source(values).isCircular(true);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void refill() {
+            List<String> pool = new ArrayList<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                pool.add(values.get(i % values.size()));
+            }
+            if (implementation.equals("vector")) {
+                draining = mj.randomConcurrentSelection(String.class).source(new Vector<>(pool)).isCircular(false);
+            } else {
+                draining = mj.randomConcurrentPoolSelection(String.class).source(pool).isCircular(false);
+            }
+        }
+
+        @Benchmark
+        @Threads(1)
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public String sequential_threads_1() {
+            return sequential.get();
+        }
+
+        @Benchmark
+        @Threads(8)
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public String sequential_threads_8() {
+            return sequential.get();
+        }
+
+        @Benchmark
+        @Threads(1)
+        @BenchmarkMode(Mode.SingleShotTime)
+        @Measurement(iterations = 5, batchSize = 10_000)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3, batchSize = 10_000)
+        @OutputTimeUnit(TimeUnit.MILLISECONDS)
+        public String draining_threads_1() {
+            return draining.get();
+        }
+
+        @Benchmark
+        @Threads(8)
+        @BenchmarkMode(Mode.SingleShotTime)
+        @Measurement(iterations = 5, batchSize = 10_000)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3, batchSize = 10_000)
+        @OutputTimeUnit(TimeUnit.MILLISECONDS)
+        public String draining_threads_8() {
+            return draining.get();
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class WeightedSampling {
+
+        @Param({ "10", "1000", "100000" })
+        int entries;
+
+        @Param({ "DECK", "WITH_REPLACEMENT" })
+        WeightedGenerator.Sampling sampling;
+
+        WeightedGenerator<Integer> weightedGenerator;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            MockeyJockey mj = new MockeyJockey();
+            weightedGenerator = mj.weighted(Integer.class).sampling(sampling);
+            Random random = new Random(42);
+            for (int i = 0; i < entries; i++) {
+                weightedGenerator.add(i, 1 + random.nextInt(100));
+            }
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public Integer weighted() {
+            return weightedGenerator.get();
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Partitioning {
+
+        // a daily total spread over the seconds of the day
+        static final int parts = 86_400;
+
+        MockeyJockey mj = new MockeyJockey();
+        PartitionGenerator.Longs longPartitionGenerator = mj.longPartitions(1_000_000_000L, parts, 10_000L);
+        long[] partition = new long[parts];
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public long[] daily_partition() {
+            longPartitionGenerator.nextPartition(partition);
+            return partition;
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public long per_second() {
+            return longPartitionGenerator.nextLong();
+        }
+
+    }
+
     @State(Scope.Thread)
     public static class RandomString {
 
@@ -321,6 +736,7 @@ public class BenchmarkRunner {
             .formattedString("FIS_ACK_%s")
             .param(mj.strings().length(mj.integers().min(42).max(62)));
         ObjectGenerator<String> ranger = string("FIS_ACK_{}", randomContentString(random(range(42, 62))));
+        StringBuilder appendBuffer = new StringBuilder(128);
 
         @Benchmark
         @Measurement(iterations = 5, time = 1)
@@ -331,6 +747,26 @@ public class BenchmarkRunner {
             return parameterizedStringGenerator.get();
         }
 
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public StringBuilder parameterizedAppend() {
+            appendBuffer.setLength(0);
+            return parameterizedStringGenerator.appendTo(appendBuffer);
+        }
+
+        @Benchmark
+        @Measurement(iterations = 5, time = 1)
+        @Fork(value = 1, warmups = 1)
+        @Warmup(iterations = 3)
+        @OutputTimeUnit(TimeUnit.SECONDS)
+        public StringBuilder formattedAppend() {
+            appendBuffer.setLength(0);
+            return formattedStringGenerator.appendTo(appendBuffer);
+        }
+
         @Benchmark
         @Measurement(iterations = 5, time = 1)
         @Fork(value = 1, warmups = 1)
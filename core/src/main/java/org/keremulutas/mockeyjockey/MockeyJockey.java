@@ -1,18 +1,34 @@
 package org.keremulutas.mockeyjockey;
 
 import org.keremulutas.mockeyjockey.core.generator.*;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class MockeyJockey {
 
-    private final Random _randomizer;
+    private final RandomSource _randomizer;
 
     public MockeyJockey() {
-        this._randomizer = ThreadLocalRandom.current();
+        this(RandomSource.threadLocal());
+    }
+
+    public MockeyJockey(long seed) {
+        this(RandomSource.seeded(seed));
+    }
+
+    public MockeyJockey(RandomSource randomSource) {
+        this._randomizer = randomSource;
+    }
+
+    public RandomSource getRandomSource() {
+        return this._randomizer;
+    }
+
+    // a MockeyJockey with an independent random stream for the given shard or partition
+    public MockeyJockey split(long index) {
+        return new MockeyJockey(this._randomizer.split(index));
     }
 
     public ConstantGenerator<Integer> constant(int value) {
@@ -135,6 +151,10 @@ public class MockeyJockey {
         return new ConcurrentSelectionGenerator.Sequential<>(clz, _randomizer);
     }
 
+    public <T> ConcurrentSelectionGenerator.SequentialFromArray<T> sequentialConcurrentArraySelection(Class<T> clz) {
+        return new ConcurrentSelectionGenerator.SequentialFromArray<>(clz, _randomizer);
+    }
+
     public <T> SelectionGenerator.Randomized<T> randomSelection(Class<T> clz) {
         return new SelectionGenerator.Randomized<>(clz, _randomizer);
     }
@@ -143,6 +163,14 @@ public class MockeyJockey {
         return new ConcurrentSelectionGenerator.RandomizedFromVector<>(clz, _randomizer);
     }
 
+    public <TKey, T> ConcurrentSelectionGenerator.RandomizedFromIndexedMap<TKey, T> randomConcurrentIndexedSelection(Class<T> clz, Class<TKey> keyClz) {
+        return new ConcurrentSelectionGenerator.RandomizedFromIndexedMap<>(clz, keyClz, _randomizer);
+    }
+
+    public <T> ConcurrentSelectionGenerator.RandomizedFromPool<T> randomConcurrentPoolSelection(Class<T> clz) {
+        return new ConcurrentSelectionGenerator.RandomizedFromPool<>(clz, _randomizer);
+    }
+
     public <TKey, T> ConcurrentSelectionGenerator.RandomizedFromMap<TKey, T> randomConcurrentSelection(Class<T> clz, Class<TKey> keyClz) {
         return new ConcurrentSelectionGenerator.RandomizedFromMap<>(clz, keyClz, _randomizer);
     }
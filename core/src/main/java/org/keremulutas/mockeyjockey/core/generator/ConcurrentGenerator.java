@@ -0,0 +1,256 @@
+package org.keremulutas.mockeyjockey.core.generator;
+
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// makes a generator safe to share between threads. the wrapped generator is used as a template and is not called by
+// the wrapper, see the modes for how values are handed out
+public abstract class ConcurrentGenerator<OT> extends Generator<Void, OT> {
+
+    public enum Mode {
+        // threads claim the positions of the global sequence with an atomic counter and move their own copy of the
+        // graph to the claimed position, needs a seekable generator (numeric sequences, sequential ip addresses, ...)
+        LOCK_FREE,
+        // every thread gets its own copy of the graph with its own random stream, sequences restart in every thread
+        STRIPED,
+        // a background thread fills a ring buffer which the threads take the values from
+        PREFETCHING
+    }
+
+    protected final Generator<?, OT> _template;
+
+    ConcurrentGenerator(Generator<?, OT> source) {
+        super(source._randomizer);
+        this._template = source.copy();
+        this._tag = source._tag;
+    }
+
+    static <OT> ConcurrentGenerator<OT> of(Generator<?, OT> source, Mode mode) {
+        switch (mode) {
+            case LOCK_FREE:
+                return new LockFree<>(source);
+            case STRIPED:
+                return new Striped<>(source);
+            default:
+                return new Prefetching<>(source);
+        }
+    }
+
+    // no shared state is written on the way, the last value is kept per thread where the mode can keep it
+    @Override
+    public OT get() {
+        return this.generate();
+    }
+
+    // already safe to share, copies of a graph keep using the same wrapper
+    @Override
+    protected Generator<Void, OT> copy(GeneratorGraph graph) {
+        return this;
+    }
+
+    @Override
+    public Generator<Void, OT> withExplicitReset(boolean explicitReset) {
+        if (explicitReset) {
+            throw new MockeyJockeyException("Concurrent generators can not be reset explicitly", this.getClass().getName(), this._tag);
+        }
+        return this;
+    }
+
+    @Override
+    public Class<OT> getTargetObjectClass() {
+        return this._template.getTargetObjectClass();
+    }
+
+    // with a claim size above 1, threads claim ranges of positions and take the values of a range in order, so the
+    // counter is only touched once per range. every value is still handed out exactly once, but threads interleave
+    // range by range
+    public static class LockFree<OT> extends ConcurrentGenerator<OT> {
+
+        private final AtomicLong _index = new AtomicLong();
+        private final int _claimSize;
+        private final ThreadLocal<Cursor<OT>> _cursors = ThreadLocal.withInitial(() -> new Cursor<>(this._template.copy()));
+
+        private static class Cursor<OT> {
+            final Generator<?, OT> generator;
+            long position;
+            long limit;
+
+            Cursor(Generator<?, OT> generator) {
+                this.generator = generator;
+            }
+        }
+
+        public LockFree(Generator<?, OT> source) {
+            this(source, 1);
+        }
+
+        public LockFree(Generator<?, OT> source, int claimSize) {
+            super(source);
+            if (!isSeekable(source)) {
+                throw new MockeyJockeyException("Lock free mode needs a seekable generator, e.g. a numeric sequence", this.getClass().getName(), this._tag);
+            }
+            if (claimSize <= 0) {
+                throw new MockeyJockeyException("Claim size must be positive, given: " + claimSize, this.getClass().getName(), this._tag);
+            }
+            this._claimSize = claimSize;
+        }
+
+        @Override
+        protected OT generate() {
+            Cursor<OT> cursor = this._cursors.get();
+            if (cursor.position == cursor.limit) {
+                long index = this._index.getAndAdd(this._claimSize);
+                // claimed positions only grow, so the copy of every thread only moves forward
+                if (index > cursor.position) {
+                    cursor.generator.skip(index - cursor.position);
+                }
+                cursor.position = index;
+                cursor.limit = index + this._claimSize;
+            }
+            cursor.position++;
+            return cursor.generator.get();
+        }
+
+        @Override
+        public OT getLastGeneratedValue() {
+            return this._cursors.get().generator.getLastGeneratedValue();
+        }
+
+    }
+
+    public static class Striped<OT> extends ConcurrentGenerator<OT> {
+
+        private final ThreadLocal<Generator<?, OT>> _generators = ThreadLocal.withInitial(this._template::copy);
+
+        public Striped(Generator<?, OT> source) {
+            super(source);
+        }
+
+        @Override
+        protected OT generate() {
+            return this._generators.get().get();
+        }
+
+        @Override
+        public OT getLastGeneratedValue() {
+            return this._generators.get().getLastGeneratedValue();
+        }
+
+    }
+
+    // values are generated in batches by a daemon thread which is started with the first get() and stopped by close().
+    // close() has to be called: until then the thread keeps the generator and its graph reachable. a full buffer does
+    // not cost cpu, the thread is parked until consumers have taken half of it
+    public static class Prefetching<OT> extends ConcurrentGenerator<OT> implements AutoCloseable {
+
+        private static final Object NULL = new Object();
+        private static final int SPINS = 64;
+        private static final long PARK_NANOS = 1_000;
+
+        private final MpmcRingBuffer<Object> _buffer;
+        private final int _batchSize;
+        private final int _lowWaterMark;
+        private volatile boolean _fillerWaiting = false;
+        private volatile Thread _filler;
+        private volatile boolean _closed = false;
+        private volatile Throwable _failure;
+
+        public Prefetching(Generator<?, OT> source) {
+            this(source, 1 << 14, 256);
+        }
+
+        public Prefetching(Generator<?, OT> source, int capacity, int batchSize) {
+            super(source);
+            this._buffer = new MpmcRingBuffer<>(capacity);
+            this._batchSize = Math.max(1, Math.min(batchSize, this._buffer.capacity()));
+            this._lowWaterMark = this._buffer.capacity() / 2;
+        }
+
+        private void start() {
+            synchronized (this) {
+                if (this._filler != null) {
+                    return;
+                }
+                if (this._closed) {
+                    throw new MockeyJockeyException("Generator is closed", this.getClass().getName(), this._tag);
+                }
+                Thread filler = new Thread(this::fill, "mockeyjockey-prefetch-" + this._tag);
+                filler.setDaemon(true);
+                filler.start();
+                this._filler = filler;
+            }
+        }
+
+        private void fill() {
+            Object[] batch = new Object[this._batchSize];
+            try {
+                while (!this._closed) {
+                    fill(this._template, batch, 0, batch.length);
+                    for (Object value : batch) {
+                        Object element = ( value == null ) ? NULL : value;
+                        while (!this._buffer.offer(element)) {
+                            if (this._closed) {
+                                return;
+                            }
+                            this._fillerWaiting = true;
+                            // consumers which took values before they saw the flag did not wake this thread up
+                            if (this._buffer.size() > this._lowWaterMark) {
+                                LockSupport.park(this);
+                            }
+                            this._fillerWaiting = false;
+                        }
+                    }
+                }
+            } catch (Throwable throwable) {
+                this._failure = throwable;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected OT generate() {
+            if (this._filler == null) {
+                this.start();
+            }
+            int spins = 0;
+            while (true) {
+                Object element = this._buffer.poll();
+                if (element != null) {
+                    if (this._fillerWaiting && this._buffer.size() <= this._lowWaterMark) {
+                        LockSupport.unpark(this._filler);
+                    }
+                    return ( element == NULL ) ? null : (OT) element;
+                }
+                if (this._failure != null) {
+                    throw new MockeyJockeyException("Prefetching failed", this._failure, this.getClass().getName(), this._tag);
+                }
+                if (this._closed) {
+                    throw new MockeyJockeyException("Generator is closed", this.getClass().getName(), this._tag);
+                }
+                if (++spins < SPINS) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+        @Override
+        public OT getLastGeneratedValue() {
+            throw new MockeyJockeyException("Prefetching generators do not keep the last value", this.getClass().getName(), this._tag);
+        }
+
+        @Override
+        public void close() {
+            this._closed = true;
+            Thread filler = this._filler;
+            if (filler != null) {
+                LockSupport.unpark(filler);
+            }
+        }
+
+    }
+
+}
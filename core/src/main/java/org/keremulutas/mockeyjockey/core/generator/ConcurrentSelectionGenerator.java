@@ -1,16 +1,20 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+import org.keremulutas.mockeyjockey.core.type.IndexedConcurrentMap;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class ConcurrentSelectionGenerator<T> extends Generator<Void, T> {
 
     boolean _isCircular = false;
     private Class<T> _objectClass;
 
-    ConcurrentSelectionGenerator(Class<T> clz, Random randomizer) {
+    ConcurrentSelectionGenerator(Class<T> clz, RandomSource randomizer) {
         super(randomizer);
         this._objectClass = clz;
     }
@@ -20,11 +24,17 @@ public abstract class ConcurrentSelectionGenerator<T> extends Generator<Void, T>
         return this;
     }
 
+    // these are meant to be shared between threads, copies keep drawing from the same source
+    @Override
+    protected Generator<Void, T> copy(GeneratorGraph graph) {
+        return this;
+    }
+
     public static class RandomizedFromVector<T> extends ConcurrentSelectionGenerator<T> {
 
         Vector<T> _source;
 
-        public RandomizedFromVector(Class<T> clz, Random randomizer) {
+        public RandomizedFromVector(Class<T> clz, RandomSource randomizer) {
             super(clz, randomizer);
         }
 
@@ -39,13 +49,16 @@ public abstract class ConcurrentSelectionGenerator<T> extends Generator<Void, T>
                 throw new MockeyJockeyException("Source must be supplied", this.getClass().getName(), this._tag);
             }
 
-            if (this._source.size() == 0) {
-                throw new MockeyJockeyException("Source generator supplied zero length list", this.getClass().getName(), this._tag);
-            }
+            // size and get / remove under the monitor of the vector, another thread could shrink it in between
+            synchronized (this._source) {
+                if (this._source.size() == 0) {
+                    throw new MockeyJockeyException("Source generator supplied zero length list", this.getClass().getName(), this._tag);
+                }
 
-            int index = this._randomizer.nextInt(this._source.size());
+                int index = this._randomizer.nextInt(this._source.size());
 
-            return this._isCircular ? this._source.get(index) : this._source.remove(index);
+                return this._isCircular ? this._source.get(index) : this._source.remove(index);
+            }
         }
 
     }
@@ -55,7 +68,7 @@ public abstract class ConcurrentSelectionGenerator<T> extends Generator<Void, T>
         ConcurrentHashMap<TKey, T> _source;
         private Class<TKey> _keyObjectClass;
 
-        public RandomizedFromMap(Class<T> clz, Class<TKey> keyClz, Random randomizer) {
+        public RandomizedFromMap(Class<T> clz, Class<TKey> keyClz, RandomSource randomizer) {
             super(clz, randomizer);
             this._keyObjectClass = keyClz;
         }
@@ -96,12 +109,48 @@ public abstract class ConcurrentSelectionGenerator<T> extends Generator<Void, T>
 
     }
 
+    // draws in O(1) from a map which other threads may keep updating, see IndexedConcurrentMap
+    public static class RandomizedFromIndexedMap<TKey, T> extends ConcurrentSelectionGenerator<T> {
+
+        IndexedConcurrentMap<TKey, T> _source;
+        private Class<TKey> _keyObjectClass;
+
+        public RandomizedFromIndexedMap(Class<T> clz, Class<TKey> keyClz, RandomSource randomizer) {
+            super(clz, randomizer);
+            this._keyObjectClass = keyClz;
+        }
+
+        public ConcurrentSelectionGenerator<T> source(IndexedConcurrentMap<TKey, T> source) {
+            this._source = source;
+            return this;
+        }
+
+        public Class<TKey> getKeyObjectClass() {
+            return _keyObjectClass;
+        }
+
+        @Override
+        protected T generate() {
+            if (this._source == null) {
+                throw new MockeyJockeyException("Source must be supplied", this.getClass().getName(), this._tag);
+            }
+
+            T value = this._isCircular ? this._source.randomValue(this._randomizer) : this._source.removeRandomValue(this._randomizer);
+            if (value == null) {
+                throw new MockeyJockeyException("Source is empty", this.getClass().getName(), this._tag);
+            }
+
+            return value;
+        }
+
+    }
+
     public static class Sequential<T> extends ConcurrentSelectionGenerator<T> {
 
         Vector<T> _source;
         int _lastIndex = 0;
 
-        public Sequential(Class<T> clz, Random randomizer) {
+        public Sequential(Class<T> clz, RandomSource randomizer) {
             super(clz, randomizer);
         }
 
@@ -116,19 +165,157 @@ public abstract class ConcurrentSelectionGenerator<T> extends Generator<Void, T>
                 throw new MockeyJockeyException("Source must be supplied", this.getClass().getName(), this._tag);
             }
 
-            if (this._source.size() == 0) {
+            synchronized (this._source) {
+                if (this._source.size() == 0) {
+                    throw new MockeyJockeyException("Source generator supplied zero length list", this.getClass().getName(), this._tag);
+                }
+
+                T value;
+                if (this._isCircular) {
+                    this._lastIndex++;
+                    value = this._source.get(this._lastIndex % this._source.size());
+                } else {
+                    value = this._source.remove(0);
+                }
+
+                return value;
+            }
+        }
+
+    }
+
+    // an atomic cursor over a snapshot of the source, no locks are taken. circular selection wraps around, otherwise
+    // every value is handed out once
+    public static class SequentialFromArray<T> extends ConcurrentSelectionGenerator<T> {
+
+        private Object[] _values;
+        private final AtomicLong _cursor = new AtomicLong();
+
+        public SequentialFromArray(Class<T> clz, RandomSource randomizer) {
+            super(clz, randomizer);
+        }
+
+        // copies the source, later changes to the collection are not seen. resets the cursor, so it should be called
+        // before the generator is shared
+        public SequentialFromArray<T> source(Collection<? extends T> source) {
+            this._values = source.toArray();
+            this._cursor.set(0);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected T generate() {
+            Object[] values = this._values;
+            if (values == null) {
+                throw new MockeyJockeyException("Source must be supplied", this.getClass().getName(), this._tag);
+            }
+
+            if (values.length == 0) {
                 throw new MockeyJockeyException("Source generator supplied zero length list", this.getClass().getName(), this._tag);
             }
 
-            T value;
+            long index = this._cursor.getAndIncrement();
             if (this._isCircular) {
-                this._lastIndex++;
-                value = this._source.get(this._lastIndex % this._source.size());
-            } else {
-                value = this._source.remove(0);
+                return (T) values[(int) ( index % values.length )];
             }
+            if (index >= values.length) {
+                throw new MockeyJockeyException("Source is exhausted", this.getClass().getName(), this._tag);
+            }
+            return (T) values[(int) index];
+        }
 
-            return value;
+    }
+
+    // random selection from a snapshot of the source. circular selection reads the snapshot without locking. without
+    // replacement the values are dealt into stripes, each guarded by its own lock, and a value is taken out of a random
+    // stripe by moving the stripe's last value into its slot. a thread first claims a value from the remaining count,
+    // so a claimed value is always found and the pool never hands out a value twice or fails while values are left
+    public static class RandomizedFromPool<T> extends ConcurrentSelectionGenerator<T> {
+
+        private static final class Stripe {
+            final Object[] values;
+            int size;
+
+            Stripe(int capacity) {
+                this.values = new Object[capacity];
+            }
+        }
+
+        private Object[] _values;
+        private Stripe[] _stripes;
+        private final AtomicInteger _remaining = new AtomicInteger();
+
+        public RandomizedFromPool(Class<T> clz, RandomSource randomizer) {
+            super(clz, randomizer);
+        }
+
+        // copies the source and refills the pool, so it should be called before the generator is shared
+        public RandomizedFromPool<T> source(Collection<? extends T> source) {
+            Object[] values = source.toArray();
+            int stripeCount = Math.max(1, Math.min(values.length, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1));
+            Stripe[] stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe(( values.length + stripeCount - 1 - i ) / stripeCount);
+            }
+            for (int i = 0; i < values.length; i++) {
+                Stripe stripe = stripes[i % stripeCount];
+                stripe.values[stripe.size++] = values[i];
+            }
+            this._values = values;
+            this._stripes = stripes;
+            this._remaining.set(values.length);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected T generate() {
+            Object[] values = this._values;
+            if (values == null) {
+                throw new MockeyJockeyException("Source must be supplied", this.getClass().getName(), this._tag);
+            }
+
+            if (this._isCircular) {
+                if (values.length == 0) {
+                    throw new MockeyJockeyException("Source is empty", this.getClass().getName(), this._tag);
+                }
+                return (T) values[this._randomizer.nextInt(values.length)];
+            }
+
+            int claimed = this._remaining.getAndDecrement();
+            if (claimed <= 0) {
+                this._remaining.incrementAndGet();
+                throw new MockeyJockeyException("Source is empty", this.getClass().getName(), this._tag);
+            }
+
+            // the stripe is picked in proportion to its size, read without the locks. a stripe emptied meanwhile is
+            // passed over to the next one. the bound is what this thread claimed, the shared counter can briefly go
+            // below zero while other threads fail to claim
+            Stripe[] stripes = this._stripes;
+            int target = this._randomizer.nextInt(claimed);
+            int first = 0;
+            while (first < stripes.length - 1 && ( target -= stripes[first].size ) >= 0) {
+                first++;
+            }
+            while (true) {
+                for (int i = 0; i < stripes.length; i++) {
+                    Stripe stripe = stripes[( first + i ) % stripes.length];
+                    synchronized (stripe) {
+                        if (stripe.size > 0) {
+                            int index = this._randomizer.nextInt(stripe.size);
+                            Object value = stripe.values[index];
+                            stripe.values[index] = stripe.values[--stripe.size];
+                            stripe.values[stripe.size] = null;
+                            return (T) value;
+                        }
+                    }
+                }
+            }
+        }
+
+        public int getRemaining() {
+            return Math.max(0, this._remaining.get());
         }
 
     }
@@ -1,12 +1,12 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.Random;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
 public class ConstantGenerator<T> extends Generator<T, T> {
 
     protected T _input;
 
-    public ConstantGenerator(T value, Random randomizer) {
+    public ConstantGenerator(T value, RandomSource randomizer) {
         super(randomizer);
         this.accept(value);
     }
@@ -17,6 +17,21 @@ public class ConstantGenerator<T> extends Generator<T, T> {
         this._input = t;
     }
 
+    @Override
+    public boolean isSeekable() {
+        return true;
+    }
+
+    @Override
+    public void skip(long n) {
+
+    }
+
+    @Override
+    protected Generator<T, T> copy(GeneratorGraph graph) {
+        return this;
+    }
+
     @Override
     protected T generate() {
         return this._input;
@@ -1,6 +1,7 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.Random;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
 import java.util.function.Supplier;
 
 public class CustomGenerator<OT> extends Generator<Void, OT> {
@@ -8,7 +9,7 @@ public class CustomGenerator<OT> extends Generator<Void, OT> {
     private Class<OT> _objectClass;
     private Supplier<OT> _supplier;
 
-    public CustomGenerator(Class<OT> clz, Supplier<OT> supplier, Random randomizer) {
+    public CustomGenerator(Class<OT> clz, Supplier<OT> supplier, RandomSource randomizer) {
         super(randomizer);
         this._objectClass = clz;
         this._supplier = supplier;
@@ -1,13 +1,13 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
+import org.keremulutas.mockeyjockey.core.random.RandomEngine;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 import org.keremulutas.mockeyjockey.utils.Utils;
 
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
 
 // https://stackoverflow.com/questions/2808535/round-a-double-to-2-decimal-places
-public class DoubleGenerator extends Generator<Void, Double> {
+public class DoubleGenerator extends Generator<Void, Double> implements PrimitiveDoubleSupplier {
 
     private Supplier<Double> _minGenerator;
     private Supplier<Double> _maxGenerator;
@@ -15,8 +15,9 @@ public class DoubleGenerator extends Generator<Void, Double> {
     private double _lowerBound;
     private double _upperBound;
     private int _precision;
+    private double _lastValue;
 
-    public DoubleGenerator(Random randomizer) {
+    public DoubleGenerator(RandomSource randomizer) {
         super(randomizer);
         this._minGenerator = new ConstantGenerator<>(0.0, this._randomizer);
         this._maxGenerator = new ConstantGenerator<>(Long.MAX_VALUE * 1.0, this._randomizer);
@@ -69,29 +70,110 @@ public class DoubleGenerator extends Generator<Void, Double> {
         return this;
     }
 
-    @Override
-    protected Double generate() {
+    protected double generateDouble() {
         if (!( this._minGenerator instanceof ConstantGenerator )) {
-            this._lowerBound = this._minGenerator.get();
+            this._lowerBound = PrimitiveDoubleSupplier.nextDoubleFrom(this._minGenerator);
         }
         if (!( this._maxGenerator instanceof ConstantGenerator )) {
-            this._upperBound = this._maxGenerator.get();
+            this._upperBound = PrimitiveDoubleSupplier.nextDoubleFrom(this._maxGenerator);
         }
         if (!( this._precisionGenerator instanceof ConstantGenerator )) {
-            this._precision = this._precisionGenerator.get();
-        }
-        double value;
-        if (this._randomizer instanceof ThreadLocalRandom) {
-            value = ( (ThreadLocalRandom) this._randomizer ).nextDouble(this._lowerBound, this._upperBound);
-        } else {
-            value = this._lowerBound + ( this._upperBound - this._lowerBound ) * this._randomizer.nextDouble();
+            this._precision = PrimitiveIntSupplier.nextIntFrom(this._precisionGenerator);
         }
+        double value = this._randomizer.nextDouble(this._lowerBound, this._upperBound);
         if (this._precision != Integer.MAX_VALUE) {
             value = Utils.formatDouble(value, this._precision);
         }
         return value;
     }
 
+    // random values do not depend on previous calls, only the bound generators have to be moved
+    @Override
+    public boolean isSeekable() {
+        return isSeekable(this._minGenerator) && isSeekable(this._maxGenerator) && isSeekable(this._precisionGenerator);
+    }
+
+    @Override
+    public void skip(long n) {
+        if (!( this._minGenerator instanceof ConstantGenerator )) {
+            skip(this._minGenerator, n);
+        }
+        if (!( this._maxGenerator instanceof ConstantGenerator )) {
+            skip(this._maxGenerator, n);
+        }
+        if (!( this._precisionGenerator instanceof ConstantGenerator )) {
+            skip(this._precisionGenerator, n);
+        }
+    }
+
+    @Override
+    protected Double generate() {
+        return this.generateDouble();
+    }
+
+    @Override
+    public double nextDouble() {
+        if (this._explicitReset) {
+            return this.get();
+        }
+        this._lastValue = this.generateDouble();
+        this._unboxedOutput = true;
+        return this._lastValue;
+    }
+
+    // constant bounds are read once and the engine of the calling thread is resolved once for the whole batch
+    @Override
+    public void fill(double[] dst, int off, int len) {
+        if (this._explicitReset) {
+            PrimitiveDoubleSupplier.super.fill(dst, off, len);
+            return;
+        }
+        if (( this._minGenerator instanceof ConstantGenerator ) && ( this._maxGenerator instanceof ConstantGenerator )
+            && ( this._precisionGenerator instanceof ConstantGenerator ) && this._precision == Integer.MAX_VALUE) {
+            RandomEngine random = this._randomizer.current();
+            double lowerBound = this._lowerBound;
+            double upperBound = this._upperBound;
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = random.nextDouble(lowerBound, upperBound);
+            }
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateDouble();
+            }
+        }
+        if (len > 0) {
+            this._lastValue = dst[off + len - 1];
+            this._unboxedOutput = true;
+        }
+    }
+
+    @Override
+    protected void fillArray(Object[] dst, int off, int len) {
+        if (this._explicitReset) {
+            super.fillArray(dst, off, len);
+            return;
+        }
+        if (( this._minGenerator instanceof ConstantGenerator ) && ( this._maxGenerator instanceof ConstantGenerator )
+            && ( this._precisionGenerator instanceof ConstantGenerator ) && this._precision == Integer.MAX_VALUE) {
+            RandomEngine random = this._randomizer.current();
+            double lowerBound = this._lowerBound;
+            double upperBound = this._upperBound;
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = random.nextDouble(lowerBound, upperBound);
+            }
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateDouble();
+            }
+        }
+        this.setLastFilled(dst, off, len);
+    }
+
+    @Override
+    protected Double boxLastValue() {
+        return this._lastValue;
+    }
+
     @Override
     public Class<Double> getTargetObjectClass() {
         return double.class;
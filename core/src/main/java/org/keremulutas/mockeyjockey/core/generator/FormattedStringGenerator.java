@@ -1,12 +1,12 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 import org.keremulutas.mockeyjockey.utils.Printf;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.function.Supplier;
 
 public class FormattedStringGenerator extends Generator<Void, String> {
@@ -15,7 +15,15 @@ public class FormattedStringGenerator extends Generator<Void, String> {
     private List<Supplier<?>> _generators = new ArrayList<>();
     private Printf printf;
 
-    public FormattedStringGenerator(String format, Random randomizer) {
+    // arguments are reused per thread, the ones of the last render are kept for boxLastValue()
+    private ThreadLocal<RenderState> _renderState = ThreadLocal.withInitial(RenderState::new);
+
+    private static class RenderState {
+        Object[] args = new Object[0];
+        long[] unboxedArgs = new long[0];
+    }
+
+    public FormattedStringGenerator(String format, RandomSource randomizer) {
         super(randomizer);
         this._format = format;
         this.printf = new Printf(format);
@@ -26,23 +34,89 @@ public class FormattedStringGenerator extends Generator<Void, String> {
         return this;
     }
 
-    // https://github.com/greenlaw110/java-str-benchmark
     @Override
-    protected String generate() {
-        if (this._generators.size() == 0) {
+    public boolean isSeekable() {
+        for (Supplier<?> generator : this._generators) {
+            if (!isSeekable(generator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void skip(long n) {
+        for (Supplier<?> generator : this._generators) {
+            skip(generator, n);
+        }
+    }
+
+    // primitive suppliers of %d arguments hand their values over without boxing them
+    private RenderState generateArgs() {
+        int size = this._generators.size();
+        if (size == 0) {
             throw new MockeyJockeyException("Partial string generators must be supplied", this.getClass().getName(), this._tag);
         }
-        int argCount = this._generators.size();
-        Object[] args = new Object[argCount];
-        for (int i = 0; i < argCount; i++) {
-            args[i] = this._generators.get(i).get();
+        RenderState state = this._renderState.get();
+        if (state.args.length != size) {
+            state.args = new Object[size];
+            state.unboxedArgs = new long[size];
+        }
+        Object[] args = state.args;
+        for (int i = 0; i < size; i++) {
+            Supplier<?> generator = this._generators.get(i);
+            if (generator instanceof PrimitiveIntSupplier && this.printf.acceptsUnboxed(i)) {
+                state.unboxedArgs[i] = ( (PrimitiveIntSupplier) generator ).nextInt();
+                args[i] = Printf.UNBOXED;
+            } else if (generator instanceof PrimitiveLongSupplier && this.printf.acceptsUnboxed(i)) {
+                state.unboxedArgs[i] = ( (PrimitiveLongSupplier) generator ).nextLong();
+                args[i] = Printf.UNBOXED;
+            } else {
+                args[i] = generator.get();
+            }
+        }
+        return state;
+    }
+
+    @Override
+    protected String generate() {
+        RenderState state = this.generateArgs();
+        try {
+            return this.printf.format(state.args, state.unboxedArgs);
+        } catch (IOException e) {
+            throw new MockeyJockeyException(e, this.getClass().getName(), this._tag);
+        }
+    }
+
+    // renders the next value straight into the given Appendable without creating a String
+    public <A extends Appendable> A appendTo(A appendable) {
+        try {
+            if (this._explicitReset) {
+                appendable.append(this.get());
+                return appendable;
+            }
+            RenderState state = this.generateArgs();
+            this.printf.formatTo(appendable, state.args, state.unboxedArgs);
+            this._unboxedOutput = true;
+            return appendable;
+        } catch (IOException e) {
+            throw new MockeyJockeyException(e, this.getClass().getName(), this._tag);
         }
+    }
+
+    @Override
+    protected String boxLastValue() {
+        RenderState state = this._renderState.get();
         try {
-            return this.printf.format(args).toString();
+            return this.printf.format(state.args, state.unboxedArgs);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new MockeyJockeyException(e, this.getClass().getName(), this._tag);
         }
-        return null;
+    }
+
+    @Override
+    protected void afterCopy() {
+        this._renderState = ThreadLocal.withInitial(RenderState::new);
     }
 
     @Override
@@ -1,28 +1,32 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import com.google.common.reflect.TypeToken;
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
-import java.util.Random;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-public abstract class Generator<IT, OT> implements Consumer<IT>, Supplier<OT> {
+public abstract class Generator<IT, OT> implements Consumer<IT>, Supplier<OT>, Cloneable {
 
     protected TypeToken<OT> _type = new TypeToken<OT>(getClass()) { static final long serialVersionUID = 1L; };
 
-    protected Random _randomizer;
+    protected RandomSource _randomizer;
     protected OT _output;
+    // set when the last value was handed out through a primitive accessor and not boxed into _output yet
+    protected boolean _unboxedOutput = false;
     protected boolean _explicitReset = false;
 
     protected String _tag = "tag not set";
 
-    public Generator(Random randomizer) {
+    public Generator(RandomSource randomizer) {
         this._randomizer = randomizer;
     }
 
     public void reset() {
         this._output = null;
+        this._unboxedOutput = false;
     }
 
     public Generator<IT, OT> withExplicitReset(boolean explicitReset) {
@@ -51,13 +55,129 @@ public abstract class Generator<IT, OT> implements Consumer<IT>, Supplier<OT> {
         }
 
         this._output = this.generate();
+        this._unboxedOutput = false;
         return this._output;
     }
 
     public OT getLastGeneratedValue() {
+        if (this._unboxedOutput) {
+            this._output = this.boxLastValue();
+            this._unboxedOutput = false;
+        }
+        return this._output;
+    }
+
+    protected OT boxLastValue() {
         return this._output;
     }
 
+    // writes len values into dst as if get() had been called len times
+    public void fill(OT[] dst, int off, int len) {
+        this.fillArray(dst, off, len);
+    }
+
+    public void fill(OT[] dst) {
+        this.fillArray(dst, 0, dst.length);
+    }
+
+    // subclasses override this one with a tight loop, an Object[] parameter lets erased generic arrays
+    // (e.g. the buffer of ListGenerator) through without the cast of a bridge method
+    protected void fillArray(Object[] dst, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = this.get();
+        }
+    }
+
+    // keeps getLastGeneratedValue() in line with get() after a bulk fill
+    @SuppressWarnings("unchecked")
+    protected void setLastFilled(Object[] dst, int off, int len) {
+        if (len > 0) {
+            this._output = (OT) dst[off + len - 1];
+            this._unboxedOutput = false;
+        }
+    }
+
+    // true if skip() can move this generator forward without replaying it
+    public boolean isSeekable() {
+        return false;
+    }
+
+    // advances the generator as if get() had been called n times
+    public void skip(long n) {
+        for (long i = 0; i < n; i++) {
+            this.get();
+        }
+    }
+
+    // records [from, to) of the sequence produced by shard(0, ...), reproducible with a seeded RandomSource
+    public ShardGenerator<OT> shard(long from, long to) {
+        return new ShardGenerator<>(this, from, to);
+    }
+
+    static boolean isSeekable(Supplier<?> supplier) {
+        if (supplier instanceof ConstantGenerator) {
+            return true;
+        }
+        if (supplier instanceof Generator) {
+            Generator<?, ?> generator = (Generator<?, ?>) supplier;
+            // an explicitly reset generator only moves when someone resets it, that can not be predicted
+            return !generator._explicitReset && generator.isSeekable();
+        }
+        return false;
+    }
+
+    static void fill(Supplier<?> supplier, Object[] dst, int off, int len) {
+        if (supplier instanceof Generator) {
+            ( (Generator<?, ?>) supplier ).fillArray(dst, off, len);
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = supplier.get();
+            }
+        }
+    }
+
+    static void skip(Supplier<?> supplier, long n) {
+        if (supplier instanceof Generator) {
+            ( (Generator<?, ?>) supplier ).skip(n);
+        } else {
+            for (long i = 0; i < n; i++) {
+                supplier.get();
+            }
+        }
+    }
+
+    // a view of this generator which can be shared between threads, see ConcurrentGenerator.Mode
+    public ConcurrentGenerator<OT> concurrent(ConcurrentGenerator.Mode mode) {
+        return ConcurrentGenerator.of(this, mode);
+    }
+
+    // a deep copy of the graph below this generator with a random stream of its own, see GeneratorGraph
+    public Generator<IT, OT> copy() {
+        return new GeneratorGraph(GeneratorGraph.nextStreamIndex()).copyOf(this);
+    }
+
+    // generators which can be shared by the copies (e.g. constants) return themselves, the ones holding state which is
+    // not a generator, collection or array (e.g. method handles bound to other generators) rebuild it in afterCopy()
+    @SuppressWarnings("unchecked")
+    protected Generator<IT, OT> copy(GeneratorGraph graph) {
+        Generator<IT, OT> copy;
+        try {
+            copy = (Generator<IT, OT>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new MockeyJockeyException(e, this.getClass().getName(), this._tag);
+        }
+        graph.register(this, copy);
+        copy._output = null;
+        copy._unboxedOutput = false;
+        graph.copyFields(copy);
+        copy.afterCopy();
+        return copy;
+    }
+
+    protected void afterCopy() {
+
+    }
+
     public ListGenerator<OT> list(int length) {
         return new ListGenerator<OT>(this._randomizer)
             .length(new ConstantGenerator<>(length, this._randomizer))
@@ -0,0 +1,149 @@
+package org.keremulutas.mockeyjockey.core.generator;
+
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// deep copies generator graphs. a generator reached twice (e.g. one id generator used by two fields) is copied once,
+// so the copy is wired like the original, and every random source is replaced by its split for the stream index of the
+// copy. collections and arrays held by generators are copied as well, everything else (values, custom suppliers,
+// mutators and transform functions) is shared with the original, so a custom supplier which calls other generators
+// keeps calling the original ones
+public class GeneratorGraph {
+
+    private static final AtomicLong STREAM_INDEX = new AtomicLong();
+
+    private final long _streamIndex;
+    private final Map<Object, Object> _copies = new IdentityHashMap<>();
+
+    public GeneratorGraph(long streamIndex) {
+        this._streamIndex = streamIndex;
+    }
+
+    // stream indexes for copies which are not given one, unique in this jvm. they count down from -1 so that they do
+    // not meet the ones of replicate()
+    static long nextStreamIndex() {
+        return -1 - STREAM_INDEX.getAndIncrement();
+    }
+
+    // count copies of the graph, copy i draws its random values from split(i) of the original random source
+    public static <G extends Generator<?, ?>> List<G> replicate(G generator, int count) {
+        List<G> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new GeneratorGraph(i).copyOf(generator));
+        }
+        return result;
+    }
+
+    // generators copied through the same graph share the copies of the generators they have in common
+    @SuppressWarnings("unchecked")
+    public <G extends Generator<?, ?>> G copyOf(G generator) {
+        return (G) this.copyValue(generator);
+    }
+
+    public long getStreamIndex() {
+        return this._streamIndex;
+    }
+
+    @SuppressWarnings("unchecked")
+    Object copyValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Object copy = this._copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+        if (value instanceof Generator) {
+            copy = ( (Generator<?, ?>) value ).copy(this);
+        } else if (value instanceof RandomSource) {
+            copy = ( (RandomSource) value ).split(this._streamIndex);
+        } else if (value instanceof Collection) {
+            copy = this.copyCollection((Collection<Object>) value);
+        } else if (value instanceof Map) {
+            copy = this.copyMap((Map<Object, Object>) value);
+        } else if (value.getClass().isArray()) {
+            copy = this.copyArray(value);
+        } else {
+            return value;
+        }
+        this._copies.put(value, copy);
+        return copy;
+    }
+
+    // called by Generator.copy(GeneratorGraph) with the clone, before its fields are copied
+    void register(Object original, Object copy) {
+        this._copies.put(original, copy);
+    }
+
+    // replaces every field of the clone declared by the generator classes with its copy
+    void copyFields(Generator<?, ?> copy) {
+        for (Class<?> clz = copy.getClass(); clz != null && clz != Object.class; clz = clz.getSuperclass()) {
+            for (Field field : clz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(copy);
+                    Object copied = this.copyValue(value);
+                    if (copied != value) {
+                        field.set(copy, copied);
+                    }
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new MockeyJockeyException("Could not copy field: " + field.getName(), e, this.getClass().getName(), copy.getTag());
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> C newInstance(Object value, C fallback) {
+        try {
+            return (C) value.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return fallback;
+        }
+    }
+
+    private Collection<Object> copyCollection(Collection<Object> collection) {
+        Collection<Object> fallback = ( collection instanceof Set ) ? new LinkedHashSet<>() : new ArrayList<>(collection.size());
+        Collection<Object> copy = ( collection instanceof SortedSet ) ? fallback : newInstance(collection, fallback);
+        this._copies.put(collection, copy);
+        for (Object element : collection) {
+            copy.add(this.copyValue(element));
+        }
+        return copy;
+    }
+
+    private Map<Object, Object> copyMap(Map<Object, Object> map) {
+        Map<Object, Object> copy = ( map instanceof SortedMap ) ? new LinkedHashMap<>() : newInstance(map, new LinkedHashMap<>());
+        this._copies.put(map, copy);
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            copy.put(this.copyValue(entry.getKey()), this.copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        this._copies.put(array, copy);
+        if (array.getClass().getComponentType().isPrimitive()) {
+            System.arraycopy(array, 0, copy, 0, length);
+        } else {
+            Object[] source = (Object[]) array;
+            Object[] target = (Object[]) copy;
+            for (int i = 0; i < length; i++) {
+                target[i] = this.copyValue(source[i]);
+            }
+        }
+        return copy;
+    }
+
+}
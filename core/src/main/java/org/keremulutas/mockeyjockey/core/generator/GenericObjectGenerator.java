@@ -1,6 +1,7 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 import org.keremulutas.mockeyjockey.core.type.GenericObject;
 
 import java.util.*;
@@ -8,10 +9,10 @@ import java.util.function.Function;
 
 public class GenericObjectGenerator extends Generator<Void, GenericObject> {
 
-    private Map<String, Generator<?, ?>> _fieldGenerators = new HashMap<>();
+    private Map<String, Generator<?, ?>> _fieldGenerators = new LinkedHashMap<>();
     private List<Function<GenericObject, GenericObject>> _objectMutators = new ArrayList<>();
 
-    public GenericObjectGenerator(Random randomizer) {
+    public GenericObjectGenerator(RandomSource randomizer) {
         super(randomizer);
     }
 
@@ -20,17 +21,41 @@ public class GenericObjectGenerator extends Generator<Void, GenericObject> {
         return this;
     }
 
+    public Map<String, Generator<?, ?>> getFieldGenerators() {
+        return Collections.unmodifiableMap(this._fieldGenerators);
+    }
+
     public GenericObjectGenerator mutate(Function<GenericObject, GenericObject> objectMutator) {
         this._objectMutators.add(objectMutator);
         return this;
     }
 
+    @Override
+    public boolean isSeekable() {
+        if (!this._objectMutators.isEmpty()) {
+            return false;
+        }
+        for (Generator<?, ?> generator : this._fieldGenerators.values()) {
+            if (!isSeekable(generator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void skip(long n) {
+        for (Generator<?, ?> generator : this._fieldGenerators.values()) {
+            skip(generator, n);
+        }
+    }
+
     @Override
     protected GenericObject generate() {
         GenericObject result = new GenericObject();
         try {
-            for (String s : this._fieldGenerators.keySet()) {
-                result.put(s, this._fieldGenerators.get(s).get());
+            for (Map.Entry<String, Generator<?, ?>> entry : this._fieldGenerators.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().get());
             }
             for (Function<GenericObject, GenericObject> mutator : this._objectMutators) {
                 result = mutator.apply(result);
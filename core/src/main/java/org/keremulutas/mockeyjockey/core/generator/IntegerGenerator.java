@@ -1,16 +1,19 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.Random;
+import org.keremulutas.mockeyjockey.core.random.RandomEngine;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
 import java.util.function.Supplier;
 
-public class IntegerGenerator extends Generator<Void, Integer> {
+public class IntegerGenerator extends Generator<Void, Integer> implements PrimitiveIntSupplier {
 
     private Supplier<Integer> _minGenerator;
     private Supplier<Integer> _maxGenerator;
     private int _lowerBound;
     private int _upperBound;
+    private int _lastValue;
 
-    public IntegerGenerator(Random randomizer) {
+    public IntegerGenerator(RandomSource randomizer) {
         super(randomizer);
         this._minGenerator = new ConstantGenerator<>(0, this._randomizer);
         this._maxGenerator = new ConstantGenerator<>(Integer.MAX_VALUE, this._randomizer);
@@ -42,17 +45,98 @@ public class IntegerGenerator extends Generator<Void, Integer> {
         return this;
     }
 
-    @Override
-    protected Integer generate() {
+    protected int generateInt() {
         if (!( this._minGenerator instanceof ConstantGenerator )) {
-            this._lowerBound = this._minGenerator.get();
+            this._lowerBound = PrimitiveIntSupplier.nextIntFrom(this._minGenerator);
         }
         if (!( this._maxGenerator instanceof ConstantGenerator )) {
-            this._upperBound = this._maxGenerator.get();
+            this._upperBound = PrimitiveIntSupplier.nextIntFrom(this._maxGenerator);
         }
         return this._randomizer.nextInt(this._upperBound - this._lowerBound) + this._lowerBound;
     }
 
+    // random values do not depend on previous calls, only the bound generators have to be moved
+    @Override
+    public boolean isSeekable() {
+        return isSeekable(this._minGenerator) && isSeekable(this._maxGenerator);
+    }
+
+    @Override
+    public void skip(long n) {
+        if (!( this._minGenerator instanceof ConstantGenerator )) {
+            skip(this._minGenerator, n);
+        }
+        if (!( this._maxGenerator instanceof ConstantGenerator )) {
+            skip(this._maxGenerator, n);
+        }
+    }
+
+    @Override
+    protected Integer generate() {
+        return this.generateInt();
+    }
+
+    @Override
+    public int nextInt() {
+        if (this._explicitReset) {
+            return this.get();
+        }
+        this._lastValue = this.generateInt();
+        this._unboxedOutput = true;
+        return this._lastValue;
+    }
+
+    // constant bounds are read once and the engine of the calling thread is resolved once for the whole batch
+    @Override
+    public void fill(int[] dst, int off, int len) {
+        if (this._explicitReset) {
+            PrimitiveIntSupplier.super.fill(dst, off, len);
+            return;
+        }
+        if (( this._minGenerator instanceof ConstantGenerator ) && ( this._maxGenerator instanceof ConstantGenerator )) {
+            RandomEngine random = this._randomizer.current();
+            int lowerBound = this._lowerBound;
+            int range = this._upperBound - this._lowerBound;
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = random.nextInt(range) + lowerBound;
+            }
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateInt();
+            }
+        }
+        if (len > 0) {
+            this._lastValue = dst[off + len - 1];
+            this._unboxedOutput = true;
+        }
+    }
+
+    @Override
+    protected void fillArray(Object[] dst, int off, int len) {
+        if (this._explicitReset) {
+            super.fillArray(dst, off, len);
+            return;
+        }
+        if (( this._minGenerator instanceof ConstantGenerator ) && ( this._maxGenerator instanceof ConstantGenerator )) {
+            RandomEngine random = this._randomizer.current();
+            int lowerBound = this._lowerBound;
+            int range = this._upperBound - this._lowerBound;
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = random.nextInt(range) + lowerBound;
+            }
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateInt();
+            }
+        }
+        this.setLastFilled(dst, off, len);
+    }
+
+    @Override
+    protected Integer boxLastValue() {
+        return this._lastValue;
+    }
+
     @Override
     public Class<Integer> getTargetObjectClass() {
         return int.class;
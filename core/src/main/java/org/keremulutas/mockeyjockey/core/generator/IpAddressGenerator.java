@@ -1,7 +1,6 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
 public abstract class IpAddressGenerator extends Generator<Void, String> {
 
@@ -22,7 +21,7 @@ public abstract class IpAddressGenerator extends Generator<Void, String> {
         return ((ip >> 24) & 0xFF) + "." + ((ip >> 16) & 0xFF) + "." + ((ip >> 8) & 0xFF) + "." + (ip & 0xFF);
     }
 
-    private IpAddressGenerator(java.util.Random randomizer) {
+    private IpAddressGenerator(RandomSource randomizer) {
         super(randomizer);
     }
 
@@ -35,7 +34,7 @@ public abstract class IpAddressGenerator extends Generator<Void, String> {
 
         private long _currentValue = 0L;
 
-        public Sequential(java.util.Random randomizer) {
+        public Sequential(RandomSource randomizer) {
             super(randomizer);
         }
 
@@ -49,6 +48,16 @@ public abstract class IpAddressGenerator extends Generator<Void, String> {
             return this;
         }
 
+        @Override
+        public boolean isSeekable() {
+            return true;
+        }
+
+        @Override
+        public void skip(long n) {
+            this._currentValue += n;
+        }
+
         @Override
         protected String generate() {
             String result = longToIp(_currentValue);
@@ -62,9 +71,10 @@ public abstract class IpAddressGenerator extends Generator<Void, String> {
 
         private Sequential _generator;
         private int bufferSize = 1_000;
-        private List<String> _currentList;
+        private long[] _buffer;
+        private int _remaining = 0;
 
-        public Random(java.util.Random randomizer) {
+        public Random(RandomSource randomizer) {
             super(randomizer);
             this._generator = new Sequential(_randomizer);
         }
@@ -84,14 +94,30 @@ public abstract class IpAddressGenerator extends Generator<Void, String> {
             return this;
         }
 
+        // the next bufferSize addresses of the sequence are drawn in random order, the buffer holds them as longs and
+        // only the drawn address is formatted. a drawn address is swapped to the end of the remaining range
         @Override
         protected String generate() {
-            if (this._currentList == null || this._currentList.size() == 0) {
-                this._currentList = new ArrayList<>(this._generator.list(this.bufferSize).get());
+            if (this._remaining == 0) {
+                if (this._buffer == null || this._buffer.length != this.bufferSize) {
+                    this._buffer = new long[this.bufferSize];
+                }
+                long start = this._generator._currentValue;
+                for (int i = 0; i < this._buffer.length; i++) {
+                    this._buffer[i] = start + i;
+                }
+                this._generator.skip(this._buffer.length);
+                this._remaining = this._buffer.length;
             }
 
-            int index = this._randomizer.nextInt(this._currentList.size());
-            return this._currentList.remove(index);
+            long[] buffer = this._buffer;
+            int position = this._randomizer.nextInt(this._remaining);
+            int last = --this._remaining;
+            long value = buffer[position];
+            buffer[position] = buffer[last];
+            buffer[last] = value;
+
+            return longToIp(value);
         }
 
     }
@@ -1,10 +1,11 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 import java.util.function.Supplier;
 
 public class ListGenerator<T> extends Generator<Void, List<T>> {
@@ -12,7 +13,7 @@ public class ListGenerator<T> extends Generator<Void, List<T>> {
     private Supplier<Integer> _lengthGenerator;
     private Supplier<T> _sourceGenerator;
 
-    public ListGenerator(Random randomizer) {
+    public ListGenerator(RandomSource randomizer) {
         super(randomizer);
     }
 
@@ -36,15 +37,12 @@ public class ListGenerator<T> extends Generator<Void, List<T>> {
         if (this._lengthGenerator == null || this._sourceGenerator == null) {
             throw new MockeyJockeyException("Source and length generators must be supplied", this.getClass().getName(), this._tag);
         }
-        int length = this._lengthGenerator.get();
+        int length = PrimitiveIntSupplier.nextIntFrom(this._lengthGenerator);
 
-        List<T> result = new ArrayList<>(length);
-        for (int i = 0; i < length; i++) {
-            result.add(
-                this._sourceGenerator.get()
-            );
-        }
-        return result;
+        @SuppressWarnings("unchecked")
+        T[] values = (T[]) new Object[length];
+        fill(this._sourceGenerator, values, 0, length);
+        return new ArrayList<>(Arrays.asList(values));
     }
 
     @Override
@@ -1,17 +1,19 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import org.keremulutas.mockeyjockey.core.random.RandomEngine;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
 import java.util.function.Supplier;
 
-public class LongGenerator extends Generator<Void, Long> {
+public class LongGenerator extends Generator<Void, Long> implements PrimitiveLongSupplier {
 
     private Supplier<Long> _minGenerator;
     private Supplier<Long> _maxGenerator;
     private long _lowerBound;
     private long _upperBound;
+    private long _lastValue;
 
-    public LongGenerator(Random randomizer) {
+    public LongGenerator(RandomSource randomizer) {
         super(randomizer);
         this._minGenerator = new ConstantGenerator<>(0L, this._randomizer);
         this._maxGenerator = new ConstantGenerator<>(Long.MAX_VALUE, this._randomizer);
@@ -43,31 +45,96 @@ public class LongGenerator extends Generator<Void, Long> {
         return this;
     }
 
-    // https://stackoverflow.com/questions/2546078/java-random-long-number-in-0-x-n-range
-    private long nextLong(long n) {
-        long bits, val;
-        do {
-            bits = ( this._randomizer.nextLong() << 1 ) >>> 1;
-            val = bits % n;
-        } while (bits - val + ( n - 1 ) < 0L);
-        return val;
+    protected long generateLong() {
+        if (!( this._minGenerator instanceof ConstantGenerator )) {
+            this._lowerBound = PrimitiveLongSupplier.nextLongFrom(this._minGenerator);
+        }
+        if (!( this._maxGenerator instanceof ConstantGenerator )) {
+            this._upperBound = PrimitiveLongSupplier.nextLongFrom(this._maxGenerator);
+        }
+        return this._randomizer.nextLong(this._lowerBound, this._upperBound);
     }
 
+    // random values do not depend on previous calls, only the bound generators have to be moved
     @Override
-    protected Long generate() {
+    public boolean isSeekable() {
+        return isSeekable(this._minGenerator) && isSeekable(this._maxGenerator);
+    }
+
+    @Override
+    public void skip(long n) {
         if (!( this._minGenerator instanceof ConstantGenerator )) {
-            this._lowerBound = this._minGenerator.get();
+            skip(this._minGenerator, n);
         }
         if (!( this._maxGenerator instanceof ConstantGenerator )) {
-            this._upperBound = this._maxGenerator.get();
+            skip(this._maxGenerator, n);
         }
-        long value;
-        if (this._randomizer instanceof ThreadLocalRandom) {
-            value = ( (ThreadLocalRandom) this._randomizer ).nextLong(this._lowerBound, this._upperBound);
+    }
+
+    @Override
+    protected Long generate() {
+        return this.generateLong();
+    }
+
+    @Override
+    public long nextLong() {
+        if (this._explicitReset) {
+            return this.get();
+        }
+        this._lastValue = this.generateLong();
+        this._unboxedOutput = true;
+        return this._lastValue;
+    }
+
+    // constant bounds are read once and the engine of the calling thread is resolved once for the whole batch
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        if (this._explicitReset) {
+            PrimitiveLongSupplier.super.fill(dst, off, len);
+            return;
+        }
+        if (( this._minGenerator instanceof ConstantGenerator ) && ( this._maxGenerator instanceof ConstantGenerator )) {
+            RandomEngine random = this._randomizer.current();
+            long lowerBound = this._lowerBound;
+            long upperBound = this._upperBound;
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = random.nextLong(lowerBound, upperBound);
+            }
         } else {
-            value = this.nextLong(this._upperBound - this._lowerBound) + this._lowerBound;
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateLong();
+            }
+        }
+        if (len > 0) {
+            this._lastValue = dst[off + len - 1];
+            this._unboxedOutput = true;
         }
-        return value;
+    }
+
+    @Override
+    protected void fillArray(Object[] dst, int off, int len) {
+        if (this._explicitReset) {
+            super.fillArray(dst, off, len);
+            return;
+        }
+        if (( this._minGenerator instanceof ConstantGenerator ) && ( this._maxGenerator instanceof ConstantGenerator )) {
+            RandomEngine random = this._randomizer.current();
+            long lowerBound = this._lowerBound;
+            long upperBound = this._upperBound;
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = random.nextLong(lowerBound, upperBound);
+            }
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateLong();
+            }
+        }
+        this.setLastFilled(dst, off, len);
+    }
+
+    @Override
+    protected Long boxLastValue() {
+        return this._lastValue;
     }
 
     @Override
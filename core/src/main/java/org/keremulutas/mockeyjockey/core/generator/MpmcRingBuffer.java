@@ -0,0 +1,81 @@
+package org.keremulutas.mockeyjockey.core.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// bounded multi producer multi consumer queue (Dmitry Vyukov's array based queue). every slot carries a sequence number
+// telling whether it is ready to be written or read for the current lap, so producers and consumers only contend on
+// their own counter. the element is published by the volatile write of the slot's sequence
+class MpmcRingBuffer<E> {
+
+    private final int _mask;
+    private final Object[] _elements;
+    private final AtomicLongArray _sequences;
+    private final AtomicLong _head = new AtomicLong();
+    private final AtomicLong _tail = new AtomicLong();
+
+    MpmcRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this._mask = size - 1;
+        this._elements = new Object[size];
+        this._sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this._sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return this._elements.length;
+    }
+
+    // approximate while other threads are offering or polling
+    int size() {
+        long size = this._tail.get() - this._head.get();
+        return (int) Math.max(0, Math.min(size, this._elements.length));
+    }
+
+    // false if the buffer is full
+    boolean offer(E element) {
+        long position = this._tail.get();
+        while (true) {
+            int index = (int) position & this._mask;
+            long difference = this._sequences.get(index) - position;
+            if (difference == 0) {
+                if (this._tail.compareAndSet(position, position + 1)) {
+                    this._elements[index] = element;
+                    this._sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this._tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this._tail.get();
+            }
+        }
+    }
+
+    // null if the buffer is empty
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = this._head.get();
+        while (true) {
+            int index = (int) position & this._mask;
+            long difference = this._sequences.get(index) - ( position + 1 );
+            if (difference == 0) {
+                if (this._head.compareAndSet(position, position + 1)) {
+                    E element = (E) this._elements[index];
+                    this._elements[index] = null;
+                    this._sequences.set(index, position + this._mask + 1);
+                    return element;
+                }
+                position = this._head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = this._head.get();
+            }
+        }
+    }
+
+}
@@ -1,28 +1,48 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 import java.util.function.Supplier;
 
+// the first sample list is copied into the buffer, then every value of the next list is split into parts in the ratios
+// of the values in the buffer so far, and the parts are appended. the last part of a split takes what the rounded parts
+// leave, so the parts always add up to the value. the buffer is kept in a primitive array of the subclass
 public abstract class MultiplexerGenerator<T> extends Generator<Void, T> {
 
     private List<Supplier<List<T>>> _sourceGenerators = new ArrayList<>();
     private Class<T> _objectClass;
     private boolean _isCircular = false;
     private int _currentIndex = 0;
-    private List<T> _buffer;
 
-    private MultiplexerGenerator(Class<T> clz, Random randomizer) {
+    protected int _size = 0;
+    protected boolean _lazy = false;
+    private boolean _expanded = false;
+    // buffer size after every level. a new buffer is expanded from the first level whose source is not constant, the
+    // levels before it stay as they are
+    private int[] _levelSizes = new int[0];
+
+    private MultiplexerGenerator(Class<T> clz, RandomSource randomizer) {
         super(randomizer);
         this._objectClass = clz;
     }
 
+    // lazy expansion state: the sample lists (encoded, without a skipped total), the sum and length of the buffer up
+    // to every level and the walker of the last level
+    private long[][] _levelValues;
+    private long[] _walkLevelSums;
+    private long[] _levelLengths;
+    private Walker _walker;
+
     public MultiplexerGenerator<T> sampleSource(Supplier<List<T>> sourceGenerator) {
         this._sourceGenerators.add(sourceGenerator);
+        this._expanded = false;
+        this._levelValues = null;
+        this._walker = null;
         return this;
     }
 
@@ -31,7 +51,7 @@ public abstract class MultiplexerGenerator<T> extends Generator<Void, T> {
     }
 
     public MultiplexerGenerator<T> withSamples(List<T> elements) {
-        this._sourceGenerators.add(new ConstantGenerator<>(elements, this._randomizer));
+        this.sampleSource(new ConstantGenerator<>(elements, this._randomizer));
         this._isCircular = true;
         return this;
     }
@@ -41,180 +61,622 @@ public abstract class MultiplexerGenerator<T> extends Generator<Void, T> {
         return this;
     }
 
-    protected abstract void calcBuffer();
+    // values are computed while they are handed out instead of expanding the whole buffer first, see Walker
+    public MultiplexerGenerator<T> lazy(boolean lazy) {
+        this._lazy = lazy;
+        return this;
+    }
 
+    // a read only view of the expanded buffer, expanded in full in lazy mode as well
     public List<T> getBuffer() {
-        if(this._buffer == null || this._buffer.size() == 0) {
-            this.calcBuffer();
+        if (!this._expanded) {
+            this.expand();
         }
-        return this._buffer;
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                if (index < 0 || index >= MultiplexerGenerator.this._size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", size: " + MultiplexerGenerator.this._size);
+                }
+                return MultiplexerGenerator.this.valueAt(index);
+            }
+
+            @Override
+            public int size() {
+                return MultiplexerGenerator.this._size;
+            }
+        };
     }
 
-    public static class Integers extends MultiplexerGenerator<Integer> {
+    protected abstract T valueAt(int index);
 
-        public Integers(Random randomizer) {
-            super(Integer.class, randomizer);
+    protected abstract void ensureCapacity(int capacity);
+
+    // appends a value of the first level
+    protected abstract void append(T value);
+
+    // true if the value is the sum of the buffer, a list may start with the total of the previous level
+    protected abstract boolean isSum(T value);
+
+    // ratios of the values in the buffer to their sum, except for the last value
+    protected abstract void ratios(double[] dst);
+
+    // appends ratios.length + 1 parts of the value
+    protected abstract void appendSplit(T value, double[] ratios);
+
+    protected abstract void saveSum(int level, int levels);
+
+    protected abstract void restoreSum(int level);
+
+    protected void expand() {
+        int levels = this._sourceGenerators.size();
+        int from = 0;
+        if (this._expanded && this._levelSizes.length == levels) {
+            from = levels;
+            for (int level = 0; level < levels; level++) {
+                if (!( this._sourceGenerators.get(level) instanceof ConstantGenerator )) {
+                    from = level;
+                    break;
+                }
+            }
+            if (from == levels) {
+                return;
+            }
+        } else if (this._levelSizes.length != levels) {
+            this._levelSizes = new int[levels];
         }
 
-        protected void calcBuffer() {
-            if(super._buffer == null || super._buffer.size() == 0) {
-                List<List<Integer>> samples = new ArrayList<>();
-                for(int i = 0, j = super._sourceGenerators.size(); i < j; i++) {
-                    List<Integer> val = super._sourceGenerators.get(i).get();
-                    samples.add(val);
+        this._size = ( from == 0 ) ? 0 : this._levelSizes[from - 1];
+        this.restoreSum(from - 1);
+        for (int level = from; level < levels; level++) {
+            List<T> samples = this._sourceGenerators.get(level).get();
+            if (level == 0) {
+                this.ensureCapacity(samples.size());
+                for (T value : samples) {
+                    this.append(value);
+                }
+            } else if (this._size > 0) {
+                int first = ( samples.size() > 0 && this.isSum(samples.get(0)) ) ? 1 : 0;
+                long required = this._size + (long) ( samples.size() - first ) * this._size;
+                if (required > Integer.MAX_VALUE - 8) {
+                    throw new MockeyJockeyException("Expanded buffer would hold " + required + " values", this.getClass().getName(), this._tag);
+                }
+                this.ensureCapacity((int) required);
+                double[] ratios = new double[this._size - 1];
+                this.ratios(ratios);
+                for (int k = first, l = samples.size(); k < l; k++) {
+                    this.appendSplit(samples.get(k), ratios);
                 }
+            }
+            this._levelSizes[level] = this._size;
+            this.saveSum(level, levels);
+        }
+        this._expanded = true;
+    }
 
-                super._buffer = new ArrayList<>(samples.get(0));
-
-                for(int i = 0, j = samples.size() - 1; i < j; i++) {
-                    int total = 0;
-                    for(int x : super._buffer) {
-                        total += x;
-                    }
-                    double[] ratios = new double[super._buffer.size() - 1];
-                    for(int k = 0, l = super._buffer.size() - 1; k < l; k++) {
-                        ratios[k] = (super._buffer.get(k) * 1.0) / total;
-                    }
-                    List<Integer> currentList = samples.get(i+1);
-                    for(int k = (currentList.get(0) == total) ? 1 : 0, l = currentList.size(); k < l; k++) {
-                        int subtotal = 0;
-                        for(int m = 0, n = ratios.length; m < n; m++) {
-                            int val = (int) Math.round(currentList.get(k) * ratios[m]);
-                            super._buffer.add(val);
-                            subtotal += val;
-                        }
-                        super._buffer.add(currentList.get(k) - subtotal);
-                    }
+    // index of the next value in the buffer. non circular multiplexers expand a new buffer once they reach the end, so
+    // the buffer array is only read after this returned
+    protected int nextIndex() {
+        if (this._sourceGenerators.size() == 0) {
+            throw new MockeyJockeyException("Source generator or elements must be supplied", this.getClass().getName(), this._tag);
+        }
+
+        if (!this._expanded || this._currentIndex >= this._size) {
+            if (!this._expanded || !this._isCircular) {
+                this.expand();
+            }
+            if (this._size == 0) {
+                throw new MockeyJockeyException("Operation generated a list with 0 elements", this.getClass().getName(), this._tag);
+            }
+            this._currentIndex = 0;
+        }
+
+        return this._currentIndex++;
+    }
+
+    // values of the lazy mode are encoded in longs, the subclasses for floating point values override the arithmetic.
+    // zero is 0 in every encoding
+    protected abstract long encode(T value);
+
+    protected double asDouble(long encoded) {
+        return encoded;
+    }
+
+    protected long add(long a, long b) {
+        return a + b;
+    }
+
+    protected long subtract(long a, long b) {
+        return a - b;
+    }
+
+    protected long part(long total, double ratio) {
+        return Math.round(total * ratio);
+    }
+
+    private void prepareWalk() {
+        int levels = this._sourceGenerators.size();
+        int from = 0;
+        if (this._levelValues != null && this._levelValues.length == levels) {
+            from = levels;
+            for (int level = 0; level < levels; level++) {
+                if (!( this._sourceGenerators.get(level) instanceof ConstantGenerator )) {
+                    from = level;
+                    break;
                 }
             }
+        } else {
+            this._levelValues = new long[levels][];
+            this._walkLevelSums = new long[levels];
+            this._levelLengths = new long[levels];
+        }
+
+        for (int level = from; level < levels; level++) {
+            List<T> samples = this._sourceGenerators.get(level).get();
+            long sum = ( level == 0 ) ? 0 : this._walkLevelSums[level - 1];
+            int first = ( level > 0 && samples.size() > 0 && this.encode(samples.get(0)) == sum ) ? 1 : 0;
+            long[] values = new long[samples.size() - first];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.encode(samples.get(first + i));
+                sum = this.add(sum, values[i]);
+            }
+            this._levelValues[level] = values;
+            this._walkLevelSums[level] = sum;
+            if (level == 0) {
+                this._levelLengths[level] = values.length;
+            } else {
+                try {
+                    this._levelLengths[level] = Math.multiplyExact(this._levelLengths[level - 1], 1L + values.length);
+                } catch (ArithmeticException e) {
+                    throw new MockeyJockeyException("Expanded buffer would hold more than " + Long.MAX_VALUE + " values", e, this.getClass().getName(), this._tag);
+                }
+            }
+        }
+
+        if (this._walker == null || from < levels) {
+            this._walker = new Walker(this, levels - 1);
+        } else {
+            this._walker.reset();
+        }
+    }
+
+    // next value of the lazy mode. non circular multiplexers generate new samples once they reach the end
+    protected long nextWalked() {
+        if (this._sourceGenerators.size() == 0) {
+            throw new MockeyJockeyException("Source generator or elements must be supplied", this.getClass().getName(), this._tag);
+        }
+
+        if (this._walker == null || !this._walker.hasNext()) {
+            if (this._walker == null || !this._isCircular) {
+                this.prepareWalk();
+            } else {
+                this._walker.reset();
+            }
+            if (!this._walker.hasNext()) {
+                throw new MockeyJockeyException("Operation generated a list with 0 elements", this.getClass().getName(), this._tag);
+            }
+        }
+
+        return this._walker.next();
+    }
+
+    @Override
+    protected void afterCopy() {
+        if (this._walker != null) {
+            this._walker = this._walker.copy(this);
+        }
+    }
+
+    // walks the buffer up to a level without keeping it: the buffer of the level before is walked once to copy it, and
+    // once more for every value of the level to split it, each element giving the ratio of the next part. a walker
+    // holds the walker of the level before, so the memory taken is in proportion to the number of levels
+    private static final class Walker {
+
+        private final MultiplexerGenerator<?> _owner;
+        private final int _level;
+        private final Walker _previous;
+        private long _position;
+        private int _valueIndex;
+        private long _partIndex;
+        private long _total;
+        private long _subtotal;
+
+        Walker(MultiplexerGenerator<?> owner, int level) {
+            this._owner = owner;
+            this._level = level;
+            this._previous = ( level > 0 ) ? new Walker(owner, level - 1) : null;
+        }
+
+        private Walker(MultiplexerGenerator<?> owner, Walker walker) {
+            this._owner = owner;
+            this._level = walker._level;
+            this._previous = ( walker._previous == null ) ? null : new Walker(owner, walker._previous);
+            this._position = walker._position;
+            this._valueIndex = walker._valueIndex;
+            this._partIndex = walker._partIndex;
+            this._total = walker._total;
+            this._subtotal = walker._subtotal;
+        }
+
+        Walker copy(MultiplexerGenerator<?> owner) {
+            return new Walker(owner, this);
+        }
+
+        void reset() {
+            this._position = 0;
+            this._valueIndex = 0;
+            this._partIndex = 0;
+            if (this._previous != null) {
+                this._previous.reset();
+            }
+        }
+
+        boolean hasNext() {
+            return this._position < this._owner._levelLengths[this._level];
+        }
+
+        long next() {
+            MultiplexerGenerator<?> owner = this._owner;
+            if (this._level == 0) {
+                return owner._levelValues[0][(int) this._position++];
+            }
+            long copied = owner._levelLengths[this._level - 1];
+            this._position++;
+            if (this._position <= copied) {
+                return this._previous.next();
+            }
+            if (this._partIndex == 0) {
+                this._total = owner._levelValues[this._level][this._valueIndex++];
+                this._subtotal = 0;
+                this._previous.reset();
+            }
+            long element = this._previous.next();
+            if (++this._partIndex == copied) {
+                this._partIndex = 0;
+                return owner.subtract(this._total, this._subtotal);
+            }
+            long part = owner.part(this._total, owner.asDouble(element) / owner.asDouble(owner._walkLevelSums[this._level - 1]));
+            this._subtotal = owner.add(this._subtotal, part);
+            return part;
+        }
+
+    }
+
+    static int grow(int length, int capacity) {
+        return Math.max(capacity, ( length > ( Integer.MAX_VALUE - 8 ) / 2 ) ? Integer.MAX_VALUE - 8 : length * 2);
+    }
+
+    public static class Integers extends MultiplexerGenerator<Integer> implements PrimitiveIntSupplier {
+
+        private int[] _buffer = new int[16];
+        private long _sum;
+        private long[] _levelSums = new long[0];
+        private int _lastValue;
+
+        public Integers(RandomSource randomizer) {
+            super(Integer.class, randomizer);
         }
 
         @Override
-        protected Integer generate() {
-            if (super._sourceGenerators.size() == 0) {
-                throw new MockeyJockeyException("Source generator or elements must be supplied", this.getClass().getName(), this._tag);
+        protected Integer valueAt(int index) {
+            return this._buffer[index];
+        }
+
+        @Override
+        protected void ensureCapacity(int capacity) {
+            if (capacity > this._buffer.length) {
+                this._buffer = Arrays.copyOf(this._buffer, grow(this._buffer.length, capacity));
+            }
+        }
+
+        @Override
+        protected void append(Integer value) {
+            this._buffer[this._size++] = value;
+            this._sum += value;
+        }
+
+        @Override
+        protected boolean isSum(Integer value) {
+            return value == this._sum;
+        }
+
+        @Override
+        protected void ratios(double[] dst) {
+            for (int i = 0; i < dst.length; i++) {
+                dst[i] = this._buffer[i] * 1.0 / this._sum;
             }
+        }
 
-            if (super._buffer == null || super._buffer.size() == 0 || (!super._isCircular && super._currentIndex % super._buffer.size() == 0)) {
-                this.calcBuffer();
+        @Override
+        protected void appendSplit(Integer value, double[] ratios) {
+            int total = value;
+            int subtotal = 0;
+            int[] buffer = this._buffer;
+            int size = this._size;
+            for (double ratio : ratios) {
+                int part = (int) Math.round(total * ratio);
+                buffer[size++] = part;
+                subtotal += part;
+            }
+            buffer[size++] = total - subtotal;
+            this._size = size;
+            this._sum += total;
+        }
 
-                if(super._buffer.size() == 0) {
-                    throw new MockeyJockeyException("Operation generated a list with 0 elements", this.getClass().getName(), this._tag);
-                }
+        @Override
+        protected void saveSum(int level, int levels) {
+            if (this._levelSums.length != levels) {
+                this._levelSums = Arrays.copyOf(this._levelSums, levels);
             }
+            this._levelSums[level] = this._sum;
+        }
 
-            Integer value  = super._buffer.get(super._currentIndex % super._buffer.size());
-            super._currentIndex++;
+        @Override
+        protected void restoreSum(int level) {
+            this._sum = ( level < 0 ) ? 0 : this._levelSums[level];
+        }
 
+        @Override
+        protected long encode(Integer value) {
             return value;
         }
 
+        private int nextValue() {
+            if (this._lazy) {
+                return (int) this.nextWalked();
+            }
+            int index = this.nextIndex();
+            return this._buffer[index];
+        }
+
+        @Override
+        protected Integer generate() {
+            return this.nextValue();
+        }
+
+        @Override
+        public int nextInt() {
+            if (this._explicitReset) {
+                return this.get();
+            }
+            this._lastValue = this.nextValue();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        protected Integer boxLastValue() {
+            return this._lastValue;
+        }
+
     }
 
-    public static class Longs extends MultiplexerGenerator<Long> {
+    public static class Longs extends MultiplexerGenerator<Long> implements PrimitiveLongSupplier {
+
+        private long[] _buffer = new long[16];
+        private long _sum;
+        private long[] _levelSums = new long[0];
+        private long _lastValue;
 
-        public Longs(Random randomizer) {
+        public Longs(RandomSource randomizer) {
             super(Long.class, randomizer);
         }
 
-        protected void calcBuffer() {
-            List<List<Long>> samples = new ArrayList<>();
-            for(int i = 0, j = super._sourceGenerators.size(); i < j; i++) {
-                List<Long> val = super._sourceGenerators.get(i).get();
-                samples.add(val);
+        @Override
+        protected Long valueAt(int index) {
+            return this._buffer[index];
+        }
+
+        @Override
+        protected void ensureCapacity(int capacity) {
+            if (capacity > this._buffer.length) {
+                this._buffer = Arrays.copyOf(this._buffer, grow(this._buffer.length, capacity));
             }
+        }
 
-            super._buffer = new ArrayList<>(samples.get(0));
+        @Override
+        protected void append(Long value) {
+            this._buffer[this._size++] = value;
+            this._sum += value;
+        }
 
-            for(int i = 0, j = samples.size() - 1; i < j; i++) {
-                int total = 0;
-                for(long x : super._buffer) {
-                    total += x;
-                }
-                double[] ratios = new double[super._buffer.size()];
-                for(int k = 0, l = super._buffer.size(); k < l; k++) {
-                    ratios[k] = (super._buffer.get(k) * 1.0) / total;
-                }
-                for(int k = (samples.get(i+1).get(0) == total) ? 1 : 0, l = samples.get(i+1).size(); k < l; k++) {
-                    for(int m = 0, n = ratios.length; m < n; m++) {
-                        super._buffer.add(Math.round(samples.get(i+1).get(k) * ratios[m]));
-                    }
-                }
-            }
+        @Override
+        protected boolean isSum(Long value) {
+            return value == this._sum;
         }
 
         @Override
-        protected Long generate() {
-            if (super._sourceGenerators.size() == 0) {
-                throw new MockeyJockeyException("Source generator or elements must be supplied", this.getClass().getName(), this._tag);
+        protected void ratios(double[] dst) {
+            for (int i = 0; i < dst.length; i++) {
+                dst[i] = this._buffer[i] * 1.0 / this._sum;
             }
+        }
 
-            if (super._buffer == null || super._buffer.size() == 0 || (!super._isCircular && super._currentIndex % super._buffer.size() == 0)) {
-                this.calcBuffer();
+        @Override
+        protected void appendSplit(Long value, double[] ratios) {
+            long total = value;
+            long subtotal = 0;
+            long[] buffer = this._buffer;
+            int size = this._size;
+            for (double ratio : ratios) {
+                long part = Math.round(total * ratio);
+                buffer[size++] = part;
+                subtotal += part;
+            }
+            buffer[size++] = total - subtotal;
+            this._size = size;
+            this._sum += total;
+        }
 
-                if(super._buffer.size() == 0) {
-                    throw new MockeyJockeyException("Operation generated a list with 0 elements", this.getClass().getName(), this._tag);
-                }
+        @Override
+        protected void saveSum(int level, int levels) {
+            if (this._levelSums.length != levels) {
+                this._levelSums = Arrays.copyOf(this._levelSums, levels);
             }
+            this._levelSums[level] = this._sum;
+        }
 
-            Long value  = super._buffer.get(super._currentIndex % super._buffer.size());
-            super._currentIndex++;
+        @Override
+        protected void restoreSum(int level) {
+            this._sum = ( level < 0 ) ? 0 : this._levelSums[level];
+        }
 
+        @Override
+        protected long encode(Long value) {
             return value;
         }
 
+        private long nextValue() {
+            if (this._lazy) {
+                return this.nextWalked();
+            }
+            int index = this.nextIndex();
+            return this._buffer[index];
+        }
+
+        @Override
+        protected Long generate() {
+            return this.nextValue();
+        }
+
+        @Override
+        public long nextLong() {
+            if (this._explicitReset) {
+                return this.get();
+            }
+            this._lastValue = this.nextValue();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        protected Long boxLastValue() {
+            return this._lastValue;
+        }
+
     }
 
-    public static class Doubles extends MultiplexerGenerator<Double> {
+    public static class Doubles extends MultiplexerGenerator<Double> implements PrimitiveDoubleSupplier {
 
-        public Doubles(Random randomizer) {
+        private double[] _buffer = new double[16];
+        private double _sum;
+        private double[] _levelSums = new double[0];
+        private double _lastValue;
+
+        public Doubles(RandomSource randomizer) {
             super(Double.class, randomizer);
         }
 
-        protected void calcBuffer() {
-            List<List<Double>> samples = new ArrayList<>();
-            for(int i = 0, j = super._sourceGenerators.size(); i < j; i++) {
-                List<Double> val = super._sourceGenerators.get(i).get();
-                samples.add(val);
+        @Override
+        protected Double valueAt(int index) {
+            return this._buffer[index];
+        }
+
+        @Override
+        protected void ensureCapacity(int capacity) {
+            if (capacity > this._buffer.length) {
+                this._buffer = Arrays.copyOf(this._buffer, grow(this._buffer.length, capacity));
             }
+        }
 
-            super._buffer = new ArrayList<>(samples.get(0));
+        @Override
+        protected void append(Double value) {
+            this._buffer[this._size++] = value;
+            this._sum += value;
+        }
 
-            for(int i = 0, j = samples.size() - 1; i < j; i++) {
-                int total = 0;
-                for(double x : super._buffer) {
-                    total += x;
-                }
-                double[] ratios = new double[super._buffer.size()];
-                for(int k = 0, l = super._buffer.size(); k < l; k++) {
-                    ratios[k] = (super._buffer.get(k) * 1.0) / total;
-                }
-                for(int k = (samples.get(i+1).get(0) == total) ? 1 : 0, l = samples.get(i+1).size(); k < l; k++) {
-                    for(int m = 0, n = ratios.length; m < n; m++) {
-                        super._buffer.add(samples.get(i+1).get(k) * ratios[m]);
-                    }
-                }
+        @Override
+        protected boolean isSum(Double value) {
+            return value == this._sum;
+        }
+
+        @Override
+        protected void ratios(double[] dst) {
+            for (int i = 0; i < dst.length; i++) {
+                dst[i] = this._buffer[i] / this._sum;
             }
         }
 
         @Override
-        protected Double generate() {
-            if (super._sourceGenerators.size() == 0) {
-                throw new MockeyJockeyException("Source generator or elements must be supplied", this.getClass().getName(), this._tag);
+        protected void appendSplit(Double value, double[] ratios) {
+            double total = value;
+            double subtotal = 0;
+            double[] buffer = this._buffer;
+            int size = this._size;
+            for (double ratio : ratios) {
+                double part = total * ratio;
+                buffer[size++] = part;
+                subtotal += part;
             }
+            buffer[size++] = total - subtotal;
+            this._size = size;
+            this._sum += total;
+        }
 
-            if (super._buffer == null || super._buffer.size() == 0 || (!super._isCircular && super._currentIndex % super._buffer.size() == 0)) {
-                this.calcBuffer();
+        @Override
+        protected void saveSum(int level, int levels) {
+            if (this._levelSums.length != levels) {
+                this._levelSums = Arrays.copyOf(this._levelSums, levels);
+            }
+            this._levelSums[level] = this._sum;
+        }
 
-                if(super._buffer.size() == 0) {
-                    throw new MockeyJockeyException("Operation generated a list with 0 elements", this.getClass().getName(), this._tag);
-                }
+        @Override
+        protected void restoreSum(int level) {
+            this._sum = ( level < 0 ) ? 0 : this._levelSums[level];
+        }
+
+        @Override
+        protected long encode(Double value) {
+            return Double.doubleToRawLongBits(value);
+        }
+
+        @Override
+        protected double asDouble(long encoded) {
+            return Double.longBitsToDouble(encoded);
+        }
+
+        @Override
+        protected long add(long a, long b) {
+            return Double.doubleToRawLongBits(Double.longBitsToDouble(a) + Double.longBitsToDouble(b));
+        }
+
+        @Override
+        protected long subtract(long a, long b) {
+            return Double.doubleToRawLongBits(Double.longBitsToDouble(a) - Double.longBitsToDouble(b));
+        }
+
+        @Override
+        protected long part(long total, double ratio) {
+            return Double.doubleToRawLongBits(Double.longBitsToDouble(total) * ratio);
+        }
+
+        private double nextValue() {
+            if (this._lazy) {
+                return Double.longBitsToDouble(this.nextWalked());
             }
+            int index = this.nextIndex();
+            return this._buffer[index];
+        }
 
-            Double value  = super._buffer.get(super._currentIndex % super._buffer.size());
-            super._currentIndex++;
+        @Override
+        protected Double generate() {
+            return this.nextValue();
+        }
 
-            return value;
+        @Override
+        public double nextDouble() {
+            if (this._explicitReset) {
+                return this.get();
+            }
+            this._lastValue = this.nextValue();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        protected Double boxLastValue() {
+            return this._lastValue;
         }
 
     }
@@ -1,6 +1,8 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.Random;
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
 import java.util.function.Supplier;
 
 public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
@@ -14,7 +16,7 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
     protected T _next;
     protected boolean _strictBoundaries = true;
 
-    private NumericSequenceGenerator(Random randomizer) {
+    private NumericSequenceGenerator(RandomSource randomizer) {
         super(randomizer);
     }
 
@@ -34,6 +36,7 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
         this._startGenerator = new ConstantGenerator<>(start, this._randomizer);
         this._currentStart = start;
         this._next = this._currentStart;
+        this.syncState();
         return this;
     }
 
@@ -41,41 +44,70 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
         this._startGenerator = start;
         this._currentStart = this._startGenerator.get();
         this._next = this._currentStart;
+        this.syncState();
         return this;
     }
 
     public NumericSequenceGenerator<T> end(T end) {
         this._endGenerator = new ConstantGenerator<>(end, this._randomizer);
         this._currentEnd = end;
+        this.syncState();
         return this;
     }
 
     public NumericSequenceGenerator<T> end(Supplier<T> end) {
         this._endGenerator = end;
         this._currentEnd = this._endGenerator.get();
+        this.syncState();
         return this;
     }
 
     public NumericSequenceGenerator<T> diff(T diff) {
         this._diffGenerator = new ConstantGenerator<>(diff, this._randomizer);
         this._currentDiff = diff;
+        this.syncState();
         return this;
     }
 
     public NumericSequenceGenerator<T> diff(Supplier<T> diff) {
         this._diffGenerator = diff;
         this._currentDiff = this._diffGenerator.get();
+        this.syncState();
         return this;
     }
 
+    // copies the boxed configuration into the primitive state of the concrete sequence
+    protected abstract void syncState();
+
     public NumericSequenceGenerator<T> withStrictBoundaries(boolean strictBoundaries) {
         this._strictBoundaries = strictBoundaries;
         return this;
     }
 
-    public static class Integers extends NumericSequenceGenerator<Integer> {
+    // with constant bounds and strict boundaries the sequence is periodic, so any position can be computed directly
+    @Override
+    public boolean isSeekable() {
+        return this._strictBoundaries
+            && ( this._startGenerator instanceof ConstantGenerator )
+            && ( this._endGenerator instanceof ConstantGenerator )
+            && ( this._diffGenerator instanceof ConstantGenerator );
+    }
 
-        public Integers(Random randomizer) {
+    protected void checkSeekable() {
+        if (!this.isSeekable()) {
+            throw new MockeyJockeyException("Random access needs constant bounds, a positive diff and strict boundaries", this.getClass().getName(), this._tag);
+        }
+    }
+
+    public static class Integers extends NumericSequenceGenerator<Integer> implements PrimitiveIntSupplier {
+
+        private int _start;
+        private int _end;
+        private int _diff;
+        private int _nextValue;
+        private int _lastValue;
+
+        public Integers(RandomSource randomizer) {
             super(randomizer);
             this.start(new ConstantGenerator<>(0, _randomizer));
             this.end(new ConstantGenerator<>(Integer.MAX_VALUE, _randomizer));
@@ -83,31 +115,123 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
         }
 
         @Override
-        protected Integer generate() {
-            int value = this._next;
-            if (( this._next + this._currentDiff ) >= this._currentEnd) {
+        protected void syncState() {
+            if (this._currentStart != null) {
+                this._start = this._currentStart;
+                this._nextValue = this._next;
+            }
+            if (this._currentEnd != null) {
+                this._end = this._currentEnd;
+            }
+            if (this._currentDiff != null) {
+                this._diff = this._currentDiff;
+            }
+        }
+
+        private long cycleLength() {
+            if (this._end <= this._start) {
+                return 1;
+            }
+            return ( (long) this._end - this._start + this._diff - 1 ) / this._diff;
+        }
+
+        @Override
+        public boolean isSeekable() {
+            return super.isSeekable() && this._diff > 0;
+        }
+
+        // the value at the given position counted from the start, positions wrap around at the end of the cycle
+        public int valueAt(long index) {
+            this.checkSeekable();
+            return (int) ( this._start + Math.floorMod(index, this.cycleLength()) * this._diff );
+        }
+
+        // a negative n moves the sequence backwards
+        @Override
+        public void skip(long n) {
+            if (!this.isSeekable()) {
+                super.skip(n);
+                return;
+            }
+            long length = this.cycleLength();
+            long position = ( (long) this._nextValue - this._start ) / this._diff;
+            this._nextValue = this.valueAt(position + Math.floorMod(n, length));
+        }
+
+        protected int generateInt() {
+            int value = this._nextValue;
+            if (( this._nextValue + this._diff ) >= this._end) {
                 if (!( this._startGenerator instanceof ConstantGenerator )) {
-                    this._currentStart = this._startGenerator.get();
+                    this._start = PrimitiveIntSupplier.nextIntFrom(this._startGenerator);
+                    this._currentStart = this._start;
                 }
                 if (!( this._endGenerator instanceof ConstantGenerator )) {
-                    this._currentEnd = this._endGenerator.get();
+                    this._end = PrimitiveIntSupplier.nextIntFrom(this._endGenerator);
+                    this._currentEnd = this._end;
                 }
                 if (!( this._diffGenerator instanceof ConstantGenerator )) {
-                    this._currentDiff = this._diffGenerator.get();
+                    this._diff = PrimitiveIntSupplier.nextIntFrom(this._diffGenerator);
+                    this._currentDiff = this._diff;
                 }
 
                 if (this._strictBoundaries) {
-                    this._next = this._currentStart;
+                    this._nextValue = this._start;
                 } else {
-                    this._next = ( this._next + this._currentDiff ) % this._currentEnd;
+                    this._nextValue = ( this._nextValue + this._diff ) % this._end;
                 }
             } else {
-                this._next += this._currentDiff;
+                this._nextValue += this._diff;
             }
-
             return value;
         }
 
+        @Override
+        protected Integer generate() {
+            return this.generateInt();
+        }
+
+        @Override
+        public int nextInt() {
+            if (this._explicitReset) {
+                return this.get();
+            }
+            this._lastValue = this.generateInt();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        public void fill(int[] dst, int off, int len) {
+            if (this._explicitReset) {
+                PrimitiveIntSupplier.super.fill(dst, off, len);
+                return;
+            }
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateInt();
+            }
+            if (len > 0) {
+                this._lastValue = dst[off + len - 1];
+                this._unboxedOutput = true;
+            }
+        }
+
+        @Override
+        protected void fillArray(Object[] dst, int off, int len) {
+            if (this._explicitReset) {
+                super.fillArray(dst, off, len);
+                return;
+            }
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateInt();
+            }
+            this.setLastFilled(dst, off, len);
+        }
+
+        @Override
+        protected Integer boxLastValue() {
+            return this._lastValue;
+        }
+
         @Override
         public Class<Integer> getTargetObjectClass() {
             return int.class;
@@ -115,9 +239,15 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
 
     }
 
-    public static class Longs extends NumericSequenceGenerator<Long> {
+    public static class Longs extends NumericSequenceGenerator<Long> implements PrimitiveLongSupplier {
 
-        public Longs(Random randomizer) {
+        private long _start;
+        private long _end;
+        private long _diff;
+        private long _nextValue;
+        private long _lastValue;
+
+        public Longs(RandomSource randomizer) {
             super(randomizer);
             this.start(new ConstantGenerator<>(0L, _randomizer));
             this.end(new ConstantGenerator<>(Long.MAX_VALUE, _randomizer));
@@ -125,30 +255,131 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
         }
 
         @Override
-        protected Long generate() {
-            long value = this._next;
-            if (( this._next + this._currentDiff ) >= this._currentEnd) {
+        protected void syncState() {
+            if (this._currentStart != null) {
+                this._start = this._currentStart;
+                this._nextValue = this._next;
+            }
+            if (this._currentEnd != null) {
+                this._end = this._currentEnd;
+            }
+            if (this._currentDiff != null) {
+                this._diff = this._currentDiff;
+            }
+        }
+
+        // -1 if the span of the sequence does not fit into a long
+        private long cycleLength() {
+            if (this._end <= this._start) {
+                return 1;
+            }
+            long span = this._end - this._start;
+            if (span < 0) {
+                return -1;
+            }
+            return span / this._diff + ( ( span % this._diff == 0 ) ? 0 : 1 );
+        }
+
+        @Override
+        public boolean isSeekable() {
+            return super.isSeekable() && this._diff > 0 && this.cycleLength() > 0;
+        }
+
+        // the value at the given position counted from the start, positions wrap around at the end of the cycle
+        public long valueAt(long index) {
+            this.checkSeekable();
+            return this._start + Math.floorMod(index, this.cycleLength()) * this._diff;
+        }
+
+        // a negative n moves the sequence backwards
+        @Override
+        public void skip(long n) {
+            if (!this.isSeekable()) {
+                super.skip(n);
+                return;
+            }
+            long length = this.cycleLength();
+            long position = ( this._nextValue - this._start ) / this._diff;
+            long remainder = Math.floorMod(n, length);
+            // position + remainder may not fit into a long
+            position = ( position >= length - remainder ) ? position - ( length - remainder ) : position + remainder;
+            this._nextValue = this._start + position * this._diff;
+        }
+
+        protected long generateLong() {
+            long value = this._nextValue;
+            if (( this._nextValue + this._diff ) >= this._end) {
                 if (!( this._startGenerator instanceof ConstantGenerator )) {
-                    this._currentStart = this._startGenerator.get();
+                    this._start = PrimitiveLongSupplier.nextLongFrom(this._startGenerator);
+                    this._currentStart = this._start;
                 }
                 if (!( this._endGenerator instanceof ConstantGenerator )) {
-                    this._currentEnd = this._endGenerator.get();
+                    this._end = PrimitiveLongSupplier.nextLongFrom(this._endGenerator);
+                    this._currentEnd = this._end;
                 }
                 if (!( this._diffGenerator instanceof ConstantGenerator )) {
-                    this._currentDiff = this._diffGenerator.get();
+                    this._diff = PrimitiveLongSupplier.nextLongFrom(this._diffGenerator);
+                    this._currentDiff = this._diff;
                 }
 
                 if (this._strictBoundaries) {
-                    this._next = this._currentStart;
+                    this._nextValue = this._start;
                 } else {
-                    this._next = ( this._next + this._currentDiff ) % this._currentEnd;
+                    this._nextValue = ( this._nextValue + this._diff ) % this._end;
                 }
             } else {
-                this._next += this._currentDiff;
+                this._nextValue += this._diff;
             }
             return value;
         }
 
+        @Override
+        protected Long generate() {
+            return this.generateLong();
+        }
+
+        @Override
+        public long nextLong() {
+            if (this._explicitReset) {
+                return this.get();
+            }
+            this._lastValue = this.generateLong();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        public void fill(long[] dst, int off, int len) {
+            if (this._explicitReset) {
+                PrimitiveLongSupplier.super.fill(dst, off, len);
+                return;
+            }
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateLong();
+            }
+            if (len > 0) {
+                this._lastValue = dst[off + len - 1];
+                this._unboxedOutput = true;
+            }
+        }
+
+        @Override
+        protected void fillArray(Object[] dst, int off, int len) {
+            if (this._explicitReset) {
+                super.fillArray(dst, off, len);
+                return;
+            }
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateLong();
+            }
+            this.setLastFilled(dst, off, len);
+        }
+
+        @Override
+        protected Long boxLastValue() {
+            return this._lastValue;
+        }
+
         @Override
         public Class<Long> getTargetObjectClass() {
             return long.class;
@@ -156,9 +387,18 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
 
     }
 
-    public static class Doubles extends NumericSequenceGenerator<Double> {
+    public static class Doubles extends NumericSequenceGenerator<Double> implements PrimitiveDoubleSupplier {
+
+        private double _start;
+        private double _end;
+        private double _diff;
+        // values are computed as base + position * diff instead of accumulating diff, so that rounding errors do not
+        // add up and any position can be computed directly
+        private double _base;
+        private long _position;
+        private double _lastValue;
 
-        public Doubles(Random randomizer) {
+        public Doubles(RandomSource randomizer) {
             super(randomizer);
             this.start(new ConstantGenerator<>(0.0, _randomizer));
             this.end(new ConstantGenerator<>(Double.MAX_VALUE, _randomizer));
@@ -166,30 +406,138 @@ public abstract class NumericSequenceGenerator<T> extends Generator<Void, T> {
         }
 
         @Override
-        protected Double generate() {
-            double value = this._next;
-            if (( this._next + this._currentDiff ) >= this._currentEnd) {
+        protected void syncState() {
+            if (this._currentStart != null) {
+                this._start = this._currentStart;
+                this._base = this._next;
+                this._position = 0;
+            }
+            if (this._currentEnd != null) {
+                this._end = this._currentEnd;
+            }
+            if (this._currentDiff != null) {
+                this._diff = this._currentDiff;
+            }
+        }
+
+        private long cycleLength() {
+            if (this._end <= this._start) {
+                return 1;
+            }
+            double cycles = Math.ceil(( this._end - this._start ) / this._diff);
+            if (cycles >= Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long length = Math.max(1L, (long) cycles);
+            while (length > 1 && this._start + ( length - 1 ) * this._diff >= this._end) {
+                length--;
+            }
+            while (length < Long.MAX_VALUE && this._start + length * this._diff < this._end) {
+                length++;
+            }
+            return length;
+        }
+
+        @Override
+        public boolean isSeekable() {
+            return super.isSeekable() && this._diff > 0;
+        }
+
+        // the value at the given position counted from the start, positions wrap around at the end of the cycle
+        public double valueAt(long index) {
+            this.checkSeekable();
+            return this._start + Math.floorMod(index, this.cycleLength()) * this._diff;
+        }
+
+        // a negative n moves the sequence backwards
+        @Override
+        public void skip(long n) {
+            if (!this.isSeekable()) {
+                super.skip(n);
+                return;
+            }
+            long length = this.cycleLength();
+            long remainder = Math.floorMod(n, length);
+            long position = this._position;
+            this._position = ( position >= length - remainder ) ? position - ( length - remainder ) : position + remainder;
+            this._base = this._start;
+        }
+
+        protected double generateDouble() {
+            double value = this._base + this._position * this._diff;
+            if (( this._base + ( this._position + 1 ) * this._diff ) >= this._end) {
                 if (!( this._startGenerator instanceof ConstantGenerator )) {
-                    this._currentStart = this._startGenerator.get();
+                    this._start = PrimitiveDoubleSupplier.nextDoubleFrom(this._startGenerator);
+                    this._currentStart = this._start;
                 }
                 if (!( this._endGenerator instanceof ConstantGenerator )) {
-                    this._currentEnd = this._endGenerator.get();
+                    this._end = PrimitiveDoubleSupplier.nextDoubleFrom(this._endGenerator);
+                    this._currentEnd = this._end;
                 }
                 if (!( this._diffGenerator instanceof ConstantGenerator )) {
-                    this._currentDiff = this._diffGenerator.get();
+                    this._diff = PrimitiveDoubleSupplier.nextDoubleFrom(this._diffGenerator);
+                    this._currentDiff = this._diff;
                 }
 
                 if (this._strictBoundaries) {
-                    this._next = this._currentStart;
+                    this._base = this._start;
                 } else {
-                    this._next = ( this._next + this._currentDiff ) % this._currentEnd;
+                    this._base = ( value + this._diff ) % this._end;
                 }
+                this._position = 0;
             } else {
-                this._next += this._currentDiff;
+                this._position++;
             }
             return value;
         }
 
+        @Override
+        protected Double generate() {
+            return this.generateDouble();
+        }
+
+        @Override
+        public double nextDouble() {
+            if (this._explicitReset) {
+                return this.get();
+            }
+            this._lastValue = this.generateDouble();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        public void fill(double[] dst, int off, int len) {
+            if (this._explicitReset) {
+                PrimitiveDoubleSupplier.super.fill(dst, off, len);
+                return;
+            }
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateDouble();
+            }
+            if (len > 0) {
+                this._lastValue = dst[off + len - 1];
+                this._unboxedOutput = true;
+            }
+        }
+
+        @Override
+        protected void fillArray(Object[] dst, int off, int len) {
+            if (this._explicitReset) {
+                super.fillArray(dst, off, len);
+                return;
+            }
+            for (int i = off, end = off + len; i < end; i++) {
+                dst[i] = this.generateDouble();
+            }
+            this.setLastFilled(dst, off, len);
+        }
+
+        @Override
+        protected Double boxLastValue() {
+            return this._lastValue;
+        }
+
         @Override
         public Class<Double> getTargetObjectClass() {
             return double.class;
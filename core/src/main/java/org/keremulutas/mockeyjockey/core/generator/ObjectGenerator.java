@@ -2,24 +2,56 @@ package org.keremulutas.mockeyjockey.core.generator;
 
 import com.google.common.collect.HashBiMap;
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class ObjectGenerator<T> extends Generator<Void, T> {
 
     static MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+    private static final MethodHandle NEXT_INT;
+    private static final MethodHandle NEXT_LONG;
+    private static final MethodHandle NEXT_DOUBLE;
+    private static final MethodHandle SUPPLIER_GET;
+
+    static {
+        try {
+            NEXT_INT = lookup.findVirtual(PrimitiveIntSupplier.class, "nextInt", MethodType.methodType(int.class));
+            NEXT_LONG = lookup.findVirtual(PrimitiveLongSupplier.class, "nextLong", MethodType.methodType(long.class));
+            NEXT_DOUBLE = lookup.findVirtual(PrimitiveDoubleSupplier.class, "nextDouble", MethodType.methodType(double.class));
+            SUPPLIER_GET = lookup.findVirtual(Supplier.class, "get", MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     Class<T> _objectClass;
     MethodHandle _constructorHandle;
 
-    ObjectGenerator(Class<T> clz, Random randomizer) {
+    ObjectGenerator(Class<T> clz, RandomSource randomizer) {
         super(randomizer);
         this._objectClass = clz;
     }
 
+    // a ()value handle bound to the generator, primitive suppliers are called without boxing
+    static MethodHandle producer(Generator<?, ?> generator) {
+        if (generator instanceof PrimitiveIntSupplier) {
+            return NEXT_INT.bindTo(generator);
+        } else if (generator instanceof PrimitiveLongSupplier) {
+            return NEXT_LONG.bindTo(generator);
+        } else if (generator instanceof PrimitiveDoubleSupplier) {
+            return NEXT_DOUBLE.bindTo(generator);
+        }
+        return SUPPLIER_GET.bindTo(generator);
+    }
+
     public static class Reflection<T> extends ObjectGenerator<T> {
 
         private static final HashBiMap<Class<?>, Class<?>> primitiveTypesMap = HashBiMap.create();
@@ -38,14 +70,49 @@ public abstract class ObjectGenerator<T> extends Generator<Void, T> {
         private final Map<String, MethodHandle> _fieldSetters = new LinkedHashMap<>();
         private Map<String, Generator<?, ?>> _fieldGenerators = new LinkedHashMap<>();
         private List<Function<T, T>> _objectMutators = new ArrayList<>();
+        // constructor and all field setters composed into a single ()Object handle, rebuilt whenever a field is added
+        private MethodHandle _populator;
+        private boolean _usePopulator = true;
 
-        public Reflection(Class<T> clz, Random randomizer) {
+        public Reflection(Class<T> clz, RandomSource randomizer) {
             super(clz, randomizer);
             try {
                 this._constructorHandle = lookup.findConstructor(this._objectClass, MethodType.methodType(void.class));
             } catch (NoSuchMethodException | IllegalAccessException e) {
                 e.printStackTrace();
             }
+            this.composePopulator();
+        }
+
+        // the per-field map based path is kept for comparison
+        public ObjectGenerator.Reflection<T> withPrecomposedPopulator(boolean usePopulator) {
+            this._usePopulator = usePopulator;
+            return this;
+        }
+
+        // the populator is bound to the field generators of the original
+        @Override
+        protected void afterCopy() {
+            this.composePopulator();
+        }
+
+        // builds constructor -> setter(obj, producer()) -> ... -> obj, the setters run in the order of the fields
+        private void composePopulator() {
+            if (this._constructorHandle == null) {
+                this._populator = null;
+                return;
+            }
+            MethodHandle populator = MethodHandles.identity(this._objectClass);
+            List<String> fieldNames = new ArrayList<>(this._fieldSetters.keySet());
+            for (int i = fieldNames.size() - 1; i >= 0; i--) {
+                String fieldName = fieldNames.get(i);
+                MethodHandle setter = this._fieldSetters.get(fieldName);
+                MethodHandle producer = producer(this._fieldGenerators.get(fieldName))
+                    .asType(MethodType.methodType(setter.type().parameterType(1)));
+                populator = MethodHandles.foldArguments(populator, MethodHandles.collectArguments(setter, 1, producer));
+            }
+            this._populator = MethodHandles.filterReturnValue(this._constructorHandle, populator)
+                .asType(MethodType.methodType(Object.class));
         }
 
         private MethodHandle findSetter(String fieldName, Class<?> clz) {
@@ -91,12 +158,25 @@ public abstract class ObjectGenerator<T> extends Generator<Void, T> {
         }
 
         public ObjectGenerator.Reflection<T> field(String fieldName, Generator<?, ?> fieldGenerator) {
-            this._fieldGenerators.put(fieldName, fieldGenerator);
             MethodHandle fieldSetter = this.findSetter(fieldName, fieldGenerator.getTargetObjectClass());
             if (fieldSetter == null) {
                 throw new NullPointerException("Could not find setter for field: " + fieldName);
             }
-            this._fieldSetters.put(fieldName, fieldSetter);
+            Generator<?, ?> previousGenerator = this._fieldGenerators.put(fieldName, fieldGenerator);
+            MethodHandle previousSetter = this._fieldSetters.put(fieldName, fieldSetter);
+            try {
+                this.composePopulator();
+            } catch (WrongMethodTypeException e) {
+                // the field is not registered, the populator and the map based path keep the fields they had
+                if (previousSetter == null) {
+                    this._fieldGenerators.remove(fieldName);
+                    this._fieldSetters.remove(fieldName);
+                } else {
+                    this._fieldGenerators.put(fieldName, previousGenerator);
+                    this._fieldSetters.put(fieldName, previousSetter);
+                }
+                throw new MockeyJockeyException("Generator output does not match the setter of field: " + fieldName, e, this.getClass().getName(), this._tag);
+            }
             return this;
         }
 
@@ -105,21 +185,56 @@ public abstract class ObjectGenerator<T> extends Generator<Void, T> {
             return this;
         }
 
+        @Override
+        public boolean isSeekable() {
+            if (!this._objectMutators.isEmpty()) {
+                return false;
+            }
+            for (Generator<?, ?> generator : this._fieldGenerators.values()) {
+                if (!isSeekable(generator)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void skip(long n) {
+            for (Generator<?, ?> generator : this._fieldGenerators.values()) {
+                skip(generator, n);
+            }
+        }
+
         @Override
         @SuppressWarnings("unchecked")
         protected T generate() throws MockeyJockeyException {
             T objInstance;
             try {
+                if (this._usePopulator && this._populator != null) {
+                    Object populated = this._populator.invokeExact();
+                    objInstance = (T) populated;
+                    for (Function<T, T> mutator : this._objectMutators) {
+                        objInstance = mutator.apply(objInstance);
+                    }
+                    return objInstance;
+                }
                 objInstance = (T) this._constructorHandle.invoke();
                 // objInstance = this._objectClass.newInstance();
                 // for (Field f : this._objectClass.getFields()) {
                 //     f.set(objInstance, this._fieldGenerators.get(f.getName()).generate().get());
                 // }
                 for (String s : this._fieldGenerators.keySet()) {
-                    this._fieldSetters.get(s).invoke(
-                        objInstance,
-                        this._fieldGenerators.get(s).get()
-                    );
+                    MethodHandle setter = this._fieldSetters.get(s);
+                    Generator<?, ?> fieldGenerator = this._fieldGenerators.get(s);
+                    if (fieldGenerator instanceof PrimitiveIntSupplier) {
+                        setter.invoke(objInstance, ( (PrimitiveIntSupplier) fieldGenerator ).nextInt());
+                    } else if (fieldGenerator instanceof PrimitiveLongSupplier) {
+                        setter.invoke(objInstance, ( (PrimitiveLongSupplier) fieldGenerator ).nextLong());
+                    } else if (fieldGenerator instanceof PrimitiveDoubleSupplier) {
+                        setter.invoke(objInstance, ( (PrimitiveDoubleSupplier) fieldGenerator ).nextDouble());
+                    } else {
+                        setter.invoke(objInstance, fieldGenerator.get());
+                    }
                 }
                 for (Function<T, T> mutator : this._objectMutators) {
                     objInstance = mutator.apply(objInstance);
@@ -138,8 +253,10 @@ public abstract class ObjectGenerator<T> extends Generator<Void, T> {
 
         private List<Generator<?, ?>> _constructorParams = new ArrayList<>();
         private List<Function<T, T>> _objectMutators = new ArrayList<>();
+        // the constructor with every parameter collected from its generator, a ()Object handle
+        private MethodHandle _factory;
 
-        public Constructor(Class<T> clz, Random randomizer) {
+        public Constructor(Class<T> clz, RandomSource randomizer) {
             super(clz, randomizer);
         }
 
@@ -153,12 +270,32 @@ public abstract class ObjectGenerator<T> extends Generator<Void, T> {
                         MethodType.methodType(void.class, constructorParamTypes)
                     );
                 } catch (NoSuchMethodException | IllegalAccessException e) {
-                    e.printStackTrace();
+                    throw new MockeyJockeyException("Could not find constructor with parameters: " + constructorParamTypes, e, this.getClass().getName(), this._tag);
                 }
+                this.composeFactory();
             }
             return this;
         }
 
+        // parameters are collected from the last one backwards, so that the generators are called in order
+        private void composeFactory() {
+            MethodHandle factory = this._constructorHandle;
+            for (int i = this._constructorParams.size() - 1; i >= 0; i--) {
+                MethodHandle producer = producer(this._constructorParams.get(i))
+                    .asType(MethodType.methodType(factory.type().parameterType(i)));
+                factory = MethodHandles.collectArguments(factory, i, producer);
+            }
+            this._factory = factory.asType(MethodType.methodType(Object.class));
+        }
+
+        // the factory is bound to the parameter generators of the original
+        @Override
+        protected void afterCopy() {
+            if (this._constructorHandle != null) {
+                this.composeFactory();
+            }
+        }
+
         public ObjectGenerator.Constructor<T> mutate(Function<T, T> objectMutator) {
             this._objectMutators.add(objectMutator);
             return this;
@@ -172,22 +309,43 @@ public abstract class ObjectGenerator<T> extends Generator<Void, T> {
             return result;
         }
 
+        @Override
+        public boolean isSeekable() {
+            if (!this._objectMutators.isEmpty()) {
+                return false;
+            }
+            for (Generator<?, ?> generator : this._constructorParams) {
+                if (!isSeekable(generator)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void skip(long n) {
+            for (Generator<?, ?> generator : this._constructorParams) {
+                skip(generator, n);
+            }
+        }
+
         @Override
         @SuppressWarnings("unchecked")
         protected T generate() {
-            T objInstance = null;
+            if (this._factory == null) {
+                throw new MockeyJockeyException("Constructor parameters must be supplied", this.getClass().getName(), this._tag);
+            }
+            T objInstance;
             try {
-                int paramsCount = this._constructorParams.size();
-                Object[] params = new Object[paramsCount];
-                for (int i = 0; i < paramsCount; i++) {
-                    params[i] = this._constructorParams.get(i).get();
-                }
-                objInstance = (T) this._constructorHandle.invokeWithArguments(params);
+                Object created = this._factory.invokeExact();
+                objInstance = (T) created;
                 for (Function<T, T> mutator : this._objectMutators) {
                     objInstance = mutator.apply(objInstance);
                 }
+            } catch (MockeyJockeyException e) {
+                throw e;
             } catch (Throwable throwable) {
-                throwable.printStackTrace();
+                throw new MockeyJockeyException(throwable, this.getClass().getName(), this._tag);
             }
             return objInstance;
         }
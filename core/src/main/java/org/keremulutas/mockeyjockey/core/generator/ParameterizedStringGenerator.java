@@ -1,11 +1,11 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
-import org.apache.commons.lang.StringUtils;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.function.Supplier;
 
 public class ParameterizedStringGenerator extends Generator<Void, String> {
@@ -13,35 +13,70 @@ public class ParameterizedStringGenerator extends Generator<Void, String> {
     private String _format;
     private List<Supplier<String>> _generators = new ArrayList<>();
 
-    public ParameterizedStringGenerator(String format, Random randomizer) {
+    // the format is parsed once into literal0 ${slot0} literal1 ${slot1} ... literalN
+    private String[] _literals;
+    private int[] _slots;
+    private int _literalsLength;
+
+    // param values and the builder are reused per thread, the values of the last render are kept for boxLastValue()
+    private ThreadLocal<RenderState> _renderState = ThreadLocal.withInitial(RenderState::new);
+
+    private static class RenderState {
+        String[] values = new String[0];
+        StringBuilder builder = new StringBuilder();
+    }
+
+    public ParameterizedStringGenerator(String format, RandomSource randomizer) {
         super(randomizer);
         this._format = format;
+        this.compile();
+    }
+
+    private void compile() {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int literalStart = 0;
+        int i = this._format.indexOf("${");
+        while (i >= 0) {
+            int end = this._format.indexOf('}', i + 2);
+            int slot = ( end > 0 ) ? parseSlot(this._format, i + 2, end) : -1;
+            if (slot < 0) {
+                i = this._format.indexOf("${", i + 2);
+                continue;
+            }
+            literals.add(this._format.substring(literalStart, i));
+            slots.add(slot);
+            literalStart = end + 1;
+            i = this._format.indexOf("${", literalStart);
+        }
+        literals.add(this._format.substring(literalStart));
+
+        this._literals = literals.toArray(new String[0]);
+        this._slots = new int[slots.size()];
+        this._literalsLength = 0;
+        for (int j = 0; j < this._slots.length; j++) {
+            this._slots[j] = slots.get(j);
+        }
+        for (String literal : this._literals) {
+            this._literalsLength += literal.length();
+        }
     }
 
-    private static String replace(String source, String os, String ns) {
-        if (source == null) {
-            return null;
+    // only the exact placeholders ${0}, ${1}, ... are slots, like the ones the parameters replaced before
+    private static int parseSlot(String format, int from, int to) {
+        int length = to - from;
+        if (length == 0 || length > 9 || ( length > 1 && format.charAt(from) == '0' )) {
+            return -1;
         }
-        int i = 0;
-        if (( i = source.indexOf(os, i) ) >= 0) {
-            char[] sourceArray = source.toCharArray();
-            char[] nsArray = ns.toCharArray();
-            int oLength = os.length();
-            StringBuilder buf = new StringBuilder(sourceArray.length);
-            buf.append(sourceArray, 0, i).append(nsArray);
-            i += oLength;
-            int j = i;
-            // Replace all remaining instances of oldString with newString.
-            while (( i = source.indexOf(os, i) ) > 0) {
-                buf.append(sourceArray, j, i - j).append(nsArray);
-                i += oLength;
-                j = i;
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = format.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
             }
-            buf.append(sourceArray, j, sourceArray.length - j);
-            source = buf.toString();
-            buf.setLength(0);
+            result = result * 10 + ( c - '0' );
         }
-        return source;
+        return result;
     }
 
     public ParameterizedStringGenerator param(Supplier<String> partialStringGenerator) {
@@ -49,30 +84,95 @@ public class ParameterizedStringGenerator extends Generator<Void, String> {
         return this;
     }
 
-    // https://github.com/greenlaw110/java-str-benchmark
     @Override
-    protected String generate() {
-        if (this._generators.size() == 0) {
+    public boolean isSeekable() {
+        for (Supplier<?> generator : this._generators) {
+            if (!isSeekable(generator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void skip(long n) {
+        for (Supplier<?> generator : this._generators) {
+            skip(generator, n);
+        }
+    }
+
+    // every parameter is generated exactly once and in order, even if its placeholder is repeated or missing
+    private String[] generateValues(RenderState state) {
+        int size = this._generators.size();
+        if (size == 0) {
             throw new MockeyJockeyException("Partial string generators must be supplied", this.getClass().getName(), this._tag);
         }
+        if (state.values.length != size) {
+            state.values = new String[size];
+        }
+        for (int i = 0; i < size; i++) {
+            state.values[i] = this._generators.get(i).get();
+        }
+        return state.values;
+    }
 
-        String result = this._format;
-        for (int i = 0; i < this._generators.size(); i++) {
-            result = StringUtils.replace(
-                result,
-                new StringBuilder(3 + Math.max(1, (int) ( Math.log10(i) + 1 ))).append("${").append(i).append("}").toString(),
-                this._generators.get(i).get()
-            );
-            // result = S.replace(new StringBuilder(3 + Math.max(1, (int)(Math.log10(i)+1))).append("${").append(i).append("}").toString())
-            //     .in(result)
-            //     .with(this._generators.get(i).get());
-            // result = replace(
-            //     result,
-            //     new StringBuilder(3 + Math.max(1, (int)(Math.log10(i)+1))).append("${").append(i).append("}").toString(),
-            //     this._generators.get(i).get()
-            // );
+    private void render(String[] values, Appendable appendable) throws IOException {
+        appendable.append(this._literals[0]);
+        for (int i = 0; i < this._slots.length; i++) {
+            int slot = this._slots[i];
+            if (slot < values.length && values[slot] != null) {
+                appendable.append(values[slot]);
+            } else {
+                // placeholders without a parameter or with a null value are left as they are
+                appendable.append("${").append(Integer.toString(slot)).append('}');
+            }
+            appendable.append(this._literals[i + 1]);
         }
-        return result;
+    }
+
+    private String renderToString(String[] values, RenderState state) {
+        StringBuilder builder = state.builder;
+        builder.setLength(0);
+        builder.ensureCapacity(this._literalsLength + 16 * this._slots.length);
+        try {
+            this.render(values, builder);
+        } catch (IOException e) {
+            throw new MockeyJockeyException(e, this.getClass().getName(), this._tag);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    protected String generate() {
+        RenderState state = this._renderState.get();
+        return this.renderToString(this.generateValues(state), state);
+    }
+
+    // renders the next value straight into the given Appendable (e.g. a StringBuilder, Writer or CharBuffer)
+    // without creating a String
+    public <A extends Appendable> A appendTo(A appendable) {
+        try {
+            if (this._explicitReset) {
+                appendable.append(this.get());
+                return appendable;
+            }
+            this.render(this.generateValues(this._renderState.get()), appendable);
+            this._unboxedOutput = true;
+            return appendable;
+        } catch (IOException e) {
+            throw new MockeyJockeyException(e, this.getClass().getName(), this._tag);
+        }
+    }
+
+    @Override
+    protected String boxLastValue() {
+        RenderState state = this._renderState.get();
+        return this.renderToString(state.values, state);
+    }
+
+    @Override
+    protected void afterCopy() {
+        this._renderState = ThreadLocal.withInitial(RenderState::new);
     }
 
     @Override
@@ -1,97 +1,118 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomEngine;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
 
 public abstract class PartitionGenerator<T extends Number> extends Generator<Void, T> {
 
     protected T _value;
     protected int _partitionCount;
     protected T _maxDeviation;
-    protected T[] _buffer;
     protected int _counter;
-    protected T _evenParts;
-    protected T _diff;
 
-    protected PartitionGenerator(T value, int partitionCount, T maxDeviation, Random randomizer) {
+    protected PartitionGenerator(T value, int partitionCount, T maxDeviation, RandomSource randomizer) {
         super(randomizer);
+        if (partitionCount <= 0) {
+            throw new MockeyJockeyException("Partition count must be positive, given: " + partitionCount, this.getClass().getName(), this._tag);
+        }
         this._value = value;
         this._partitionCount = partitionCount;
         this._maxDeviation = maxDeviation;
     }
 
-    protected boolean isPositive(Number balance) {
-        double comparator = this._maxDeviation.doubleValue();
-        double doubleBalance = balance.doubleValue();
-        boolean result;
-        if (( -1 * comparator ) < doubleBalance && doubleBalance < comparator) {
-            result = _randomizer.nextBoolean();
-        } else {
-            result = ( doubleBalance < comparator );
-        }
-        // if (doubleBalance > 0) {
-        //     result = ( doubleBalance <= comparator ) && _randomizer.nextBoolean();
-        // } else if (doubleBalance < 0) {
-        //     result = ( doubleBalance < ( comparator * -1 ) ) || _randomizer.nextBoolean();
-        // } else {
-        //     result = _randomizer.nextBoolean();
-        // }
-        return result;
+    protected void checkLength(int length) {
+        if (length < this._partitionCount) {
+            throw new MockeyJockeyException("Array can not hold " + this._partitionCount + " parts, length: " + length, this.getClass().getName(), this._tag);
+        }
     }
 
-    public static class Longs extends PartitionGenerator<Long> {
+    // splits value into count parts around the even part. the deviation of every part from the even part is drawn
+    // uniformly from the range which still lets the parts after it bring the balance back to zero, so the last part
+    // stays within the deviation as well and no draw is ever rejected. the deviation is clamped so that parts of a
+    // positive value stay positive, and the remainder of the division adds 1 to the first parts
+    static void partition(long value, int count, long maxDeviation, RandomEngine random, long[] dst) {
+        long even = Math.floorDiv(value, count);
+        long remainder = value - even * count;
+        long deviation = Math.max(0, Math.min(maxDeviation, even - 1));
+        long balance = 0;
+        for (int i = 0, last = count - 1; i < last; i++) {
+            long reach = deviation * ( last - i );
+            long low = Math.max(-deviation, -balance - reach);
+            long high = Math.min(deviation, reach - balance);
+            long unbalancer = ( low < high ) ? random.nextLong(low, high + 1) : low;
+            balance += unbalancer;
+            dst[i] = even + unbalancer + ( ( i < remainder ) ? 1 : 0 );
+        }
+        dst[count - 1] = even - balance + ( ( count - 1 < remainder ) ? 1 : 0 );
+    }
 
-        public Longs(Long value, int partitionCount, Long maxDeviation, Random randomizer) {
+    // the deviation stays below the even part, so parts of a positive value stay positive like in the integral version.
+    // the last part takes what is left of the value, clamped into the deviation: rounding may then leave the sum a few
+    // ulps away from the value, but never moves a part out of its range
+    static void partition(double value, int count, double maxDeviation, RandomEngine random, double[] dst) {
+        double even = value / count;
+        double deviation = Math.max(0, Math.min(maxDeviation, Math.nextDown(even)));
+        double balance = 0;
+        double total = 0;
+        for (int i = 0, last = count - 1; i < last; i++) {
+            double reach = deviation * ( last - i );
+            double low = Math.max(-deviation, -balance - reach);
+            double high = Math.min(deviation, reach - balance);
+            double unbalancer = ( low < high ) ? random.nextDouble(low, high) : low;
+            balance += unbalancer;
+            dst[i] = even + unbalancer;
+            total += dst[i];
+        }
+        dst[count - 1] = Math.max(even - deviation, Math.min(even + deviation, value - total));
+    }
+
+    public static class Longs extends PartitionGenerator<Long> implements PrimitiveLongSupplier {
+
+        private long[] _buffer;
+        private long _lastValue;
+
+        public Longs(Long value, int partitionCount, Long maxDeviation, RandomSource randomizer) {
             super(value, partitionCount, maxDeviation, randomizer);
-            this._buffer = new Long[partitionCount];
-            this._evenParts = Math.floorDiv(this._value, this._partitionCount);
-            this._diff = this._value - ( this._evenParts * this._partitionCount );
+            this._buffer = new long[partitionCount];
         }
 
-        // https://stackoverflow.com/questions/2546078/java-random-long-number-in-0-x-n-range
-        private long nextLong(long n) {
-            long bits, val;
-            do {
-                bits = ( this._randomizer.nextLong() << 1 ) >>> 1;
-                val = bits % n;
-            } while (bits - val + ( n - 1 ) < 0L);
-            return val;
+        // writes a whole partition into dst[0, partitionCount), independent of the values handed out one by one
+        public void nextPartition(long[] dst) {
+            this.checkLength(dst.length);
+            partition(this._value, this._partitionCount, this._maxDeviation, this._randomizer.current(), dst);
+        }
+
+        protected long generateLong() {
+            if (this._counter == 0) {
+                partition(this._value, this._partitionCount, this._maxDeviation, this._randomizer.current(), this._buffer);
+            }
+            long value = this._buffer[this._counter];
+            if (++this._counter == this._partitionCount) {
+                this._counter = 0;
+            }
+            return value;
         }
 
         @Override
         protected Long generate() {
-            if (this._counter % this._partitionCount == 0) {
-                int balance = 0;
-
-                for (int i = 0; i < this._partitionCount; i++) {
-                    if (i == this._partitionCount - 1) {
-                        this._buffer[i] = this._evenParts - balance + this._diff;
-                    } else {
-                        long nextPart = 0;
-                        while (nextPart <= 0) {
-                            long unbalancer;
-                            if (this._maxDeviation > 0) {
-                                if (this._randomizer instanceof ThreadLocalRandom) {
-                                    unbalancer = ( (ThreadLocalRandom) this._randomizer ).nextLong(this._maxDeviation);
-                                } else {
-                                    unbalancer = this.nextLong(this._maxDeviation);
-                                }
-                            } else {
-                                unbalancer = 0L;
-                            }
-                            unbalancer = unbalancer % this._evenParts;
-                            // boolean isPositive = ( balance < this._evenParts ) && _randomizer.nextBoolean();
-                            boolean isPositive = this.isPositive(balance);
-                            unbalancer *= ( isPositive ) ? 1 : -1;
-                            balance += unbalancer;
-                            nextPart = this._evenParts + unbalancer;
-                        }
-                        this._buffer[i] = nextPart;
-                    }
-                }
+            return this.generateLong();
+        }
+
+        @Override
+        public long nextLong() {
+            if (this._explicitReset) {
+                return this.get();
             }
-            this._counter++;
-            return this._buffer[this._counter % this._partitionCount];
+            this._lastValue = this.generateLong();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        protected Long boxLastValue() {
+            return this._lastValue;
         }
 
         @Override
@@ -101,39 +122,64 @@ public abstract class PartitionGenerator<T extends Number> extends Generator<Voi
 
     }
 
-    public static class Integers extends PartitionGenerator<Integer> {
+    public static class Integers extends PartitionGenerator<Integer> implements PrimitiveIntSupplier {
+
+        // parts are computed in longs, they always fit in an int
+        private long[] _buffer;
+        private long[] _partition;
+        private int _lastValue;
 
-        public Integers(Integer value, int partitionCount, Integer maxDeviation, Random randomizer) {
+        public Integers(Integer value, int partitionCount, Integer maxDeviation, RandomSource randomizer) {
             super(value, partitionCount, maxDeviation, randomizer);
-            this._buffer = new Integer[partitionCount];
-            this._evenParts = Math.floorDiv(this._value, this._partitionCount);
-            this._diff = this._value - ( this._evenParts * this._partitionCount );
+            this._buffer = new long[partitionCount];
+        }
+
+        // writes a whole partition into dst[0, partitionCount), independent of the values handed out one by one
+        public void nextPartition(int[] dst) {
+            this.checkLength(dst.length);
+            if (this._partition == null) {
+                this._partition = new long[this._partitionCount];
+            }
+            partition(this._value, this._partitionCount, this._maxDeviation, this._randomizer.current(), this._partition);
+            for (int i = 0; i < this._partitionCount; i++) {
+                dst[i] = (int) this._partition[i];
+            }
+        }
+
+        public void nextPartition(long[] dst) {
+            this.checkLength(dst.length);
+            partition(this._value, this._partitionCount, this._maxDeviation, this._randomizer.current(), dst);
+        }
+
+        protected int generateInt() {
+            if (this._counter == 0) {
+                partition(this._value, this._partitionCount, this._maxDeviation, this._randomizer.current(), this._buffer);
+            }
+            int value = (int) this._buffer[this._counter];
+            if (++this._counter == this._partitionCount) {
+                this._counter = 0;
+            }
+            return value;
         }
 
         @Override
         protected Integer generate() {
-            if (this._counter % this._partitionCount == 0) {
-                int balance = 0;
-
-                for (int i = 0; i < this._partitionCount; i++) {
-                    if (i == this._partitionCount - 1) {
-                        this._buffer[i] = this._evenParts - balance + this._diff;
-                    } else {
-                        int nextPart = 0;
-                        while (nextPart <= 0) {
-                            int unbalancer = ( ( this._maxDeviation > 0 ) ? _randomizer.nextInt(this._maxDeviation) : 0 ) % this._evenParts;
-                            // boolean isPositive = ( balance < this._evenParts ) && _randomizer.nextBoolean();
-                            boolean isPositive = this.isPositive(balance);
-                            unbalancer *= ( isPositive ) ? 1 : -1;
-                            balance += unbalancer;
-                            nextPart = this._evenParts + unbalancer;
-                        }
-                        this._buffer[i] = nextPart;
-                    }
-                }
+            return this.generateInt();
+        }
+
+        @Override
+        public int nextInt() {
+            if (this._explicitReset) {
+                return this.get();
             }
-            this._counter++;
-            return this._buffer[this._counter % this._partitionCount];
+            this._lastValue = this.generateInt();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        protected Integer boxLastValue() {
+            return this._lastValue;
         }
 
         @Override
@@ -143,39 +189,51 @@ public abstract class PartitionGenerator<T extends Number> extends Generator<Voi
 
     }
 
-    public static class Doubles extends PartitionGenerator<Double> {
+    public static class Doubles extends PartitionGenerator<Double> implements PrimitiveDoubleSupplier {
+
+        private double[] _buffer;
+        private double _lastValue;
 
-        public Doubles(Double value, int partitionCount, Double maxDeviation, Random randomizer) {
+        public Doubles(Double value, int partitionCount, Double maxDeviation, RandomSource randomizer) {
             super(value, partitionCount, maxDeviation, randomizer);
-            this._buffer = new Double[partitionCount];
-            this._evenParts = this._value / this._partitionCount;
-            this._diff = this._value - ( this._evenParts * this._partitionCount );
+            this._buffer = new double[partitionCount];
+        }
+
+        // writes a whole partition into dst[0, partitionCount), independent of the values handed out one by one
+        public void nextPartition(double[] dst) {
+            this.checkLength(dst.length);
+            partition(this._value, this._partitionCount, this._maxDeviation, this._randomizer.current(), dst);
+        }
+
+        protected double generateDouble() {
+            if (this._counter == 0) {
+                partition(this._value, this._partitionCount, this._maxDeviation, this._randomizer.current(), this._buffer);
+            }
+            double value = this._buffer[this._counter];
+            if (++this._counter == this._partitionCount) {
+                this._counter = 0;
+            }
+            return value;
         }
 
         @Override
         protected Double generate() {
-            if (this._counter % this._partitionCount == 0) {
-                double balance = 0;
-
-                for (int i = 0; i < this._partitionCount; i++) {
-                    if (i == this._partitionCount - 1) {
-                        this._buffer[i] = this._evenParts - balance + this._diff;
-                    } else {
-                        double nextPart = 0;
-                        while (nextPart <= 0) {
-                            double unbalancer = ( this._maxDeviation * _randomizer.nextDouble() ) % this._evenParts;
-                            // boolean isPositive = ( balance < this._evenParts ) && _randomizer.nextBoolean();
-                            boolean isPositive = this.isPositive(balance);
-                            unbalancer *= ( isPositive ) ? 1 : -1;
-                            balance += unbalancer;
-                            nextPart = this._evenParts + unbalancer;
-                        }
-                        this._buffer[i] = nextPart;
-                    }
-                }
+            return this.generateDouble();
+        }
+
+        @Override
+        public double nextDouble() {
+            if (this._explicitReset) {
+                return this.get();
             }
-            this._counter++;
-            return this._buffer[this._counter % this._partitionCount];
+            this._lastValue = this.generateDouble();
+            this._unboxedOutput = true;
+            return this._lastValue;
+        }
+
+        @Override
+        protected Double boxLastValue() {
+            return this._lastValue;
         }
 
         @Override
@@ -0,0 +1,33 @@
+package org.keremulutas.mockeyjockey.core.generator;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+// implemented by generators which can hand out double values without boxing them
+public interface PrimitiveDoubleSupplier extends DoubleSupplier {
+
+    double nextDouble();
+
+    @Override
+    default double getAsDouble() {
+        return this.nextDouble();
+    }
+
+    default void fill(double[] dst, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = this.nextDouble();
+        }
+    }
+
+    default void fill(double[] dst) {
+        this.fill(dst, 0, dst.length);
+    }
+
+    static double nextDoubleFrom(Supplier<Double> supplier) {
+        if (supplier instanceof PrimitiveDoubleSupplier) {
+            return ( (PrimitiveDoubleSupplier) supplier ).nextDouble();
+        }
+        return supplier.get();
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.keremulutas.mockeyjockey.core.generator;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+// implemented by generators which can hand out int values without boxing them
+public interface PrimitiveIntSupplier extends IntSupplier {
+
+    int nextInt();
+
+    @Override
+    default int getAsInt() {
+        return this.nextInt();
+    }
+
+    default void fill(int[] dst, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = this.nextInt();
+        }
+    }
+
+    default void fill(int[] dst) {
+        this.fill(dst, 0, dst.length);
+    }
+
+    static int nextIntFrom(Supplier<Integer> supplier) {
+        if (supplier instanceof PrimitiveIntSupplier) {
+            return ( (PrimitiveIntSupplier) supplier ).nextInt();
+        }
+        return supplier.get();
+    }
+
+}
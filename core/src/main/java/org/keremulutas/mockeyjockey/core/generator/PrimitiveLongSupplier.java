@@ -0,0 +1,33 @@
+package org.keremulutas.mockeyjockey.core.generator;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// implemented by generators which can hand out long values without boxing them
+public interface PrimitiveLongSupplier extends LongSupplier {
+
+    long nextLong();
+
+    @Override
+    default long getAsLong() {
+        return this.nextLong();
+    }
+
+    default void fill(long[] dst, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = this.nextLong();
+        }
+    }
+
+    default void fill(long[] dst) {
+        this.fill(dst, 0, dst.length);
+    }
+
+    static long nextLongFrom(Supplier<Long> supplier) {
+        if (supplier instanceof PrimitiveLongSupplier) {
+            return ( (PrimitiveLongSupplier) supplier ).nextLong();
+        }
+        return supplier.get();
+    }
+
+}
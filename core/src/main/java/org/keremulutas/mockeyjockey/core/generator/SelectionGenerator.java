@@ -1,6 +1,8 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomEngine;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
 import java.util.*;
 import java.util.function.Supplier;
@@ -12,7 +14,7 @@ public abstract class SelectionGenerator<T> extends Generator<Void, T> {
     boolean _isCircular = false;
     private Class<T> _objectClass;
 
-    SelectionGenerator(Class<T> clz, Random randomizer) {
+    SelectionGenerator(Class<T> clz, RandomSource randomizer) {
         super(randomizer);
         this._objectClass = clz;
     }
@@ -43,7 +45,10 @@ public abstract class SelectionGenerator<T> extends Generator<Void, T> {
 
     public static class Randomized<T> extends SelectionGenerator<T> {
 
-        public Randomized(Class<T> clz, Random randomizer) {
+        private int[] _order;
+        private int _remaining = 0;
+
+        public Randomized(Class<T> clz, RandomSource randomizer) {
             super(clz, randomizer);
         }
 
@@ -67,26 +72,81 @@ public abstract class SelectionGenerator<T> extends Generator<Void, T> {
             return (SelectionGenerator.Randomized<T>) super.withElements(elements);
         }
 
+        // selection with replacement does not depend on previous calls once the source list is retrieved
+        @Override
+        public boolean isSeekable() {
+            return !this._isCircular;
+        }
+
+        @Override
+        public void skip(long n) {
+            if (!this._isCircular) {
+                return;
+            }
+            super.skip(n);
+        }
+
+        // selection with replacement picks from the same list for the whole batch
+        @Override
+        protected void fillArray(Object[] dst, int off, int len) {
+            if (this._explicitReset || this._isCircular || len == 0) {
+                super.fillArray(dst, off, len);
+                return;
+            }
+            dst[off] = this.generate();
+            List<T> list = this._currentList;
+            int size = list.size();
+            RandomEngine random = this._randomizer.current();
+            for (int i = off + 1, end = off + len; i < end; i++) {
+                dst[i] = list.get(random.nextInt(size));
+            }
+            this.setLastFilled(dst, off, len);
+        }
+
+        private List<T> nextList() {
+            List<T> list = this._sourceGenerator.get();
+            if (list.size() == 0) {
+                throw new MockeyJockeyException("Source generator generated a list with 0 elements", this.getClass().getName(), this._tag);
+            }
+            return ( list instanceof RandomAccess ) ? list : new ArrayList<>(list);
+        }
+
+        // selection without replacement is an incremental fisher-yates shuffle of the indexes: a random index among the
+        // remaining ones is swapped to the end of the remaining range. the list itself is not modified and once every
+        // element is drawn, the order array is still a permutation, so the next round only resets the remaining count
         @Override
         protected T generate() {
             if (this._sourceGenerator == null) {
                 throw new MockeyJockeyException("Source generator must be supplied", this.getClass().getName(), this._tag);
             }
 
-            if (this._currentList == null || this._currentList.size() == 0) {
-                this._currentList = new ArrayList<>(this._sourceGenerator.get());
+            if (!this._isCircular) {
+                if (this._currentList == null) {
+                    this._currentList = this.nextList();
+                }
+                return this._currentList.get(this._randomizer.nextInt(this._currentList.size()));
             }
 
-            T value;
-
-            int index = this._randomizer.nextInt(this._currentList.size());
-            if (this._isCircular) {
-                value = this._currentList.remove(index);
-            } else {
-                value = this._currentList.get(index);
+            if (this._currentList == null || this._remaining == 0) {
+                this._currentList = this.nextList();
+                int size = this._currentList.size();
+                if (this._order == null || this._order.length != size) {
+                    this._order = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        this._order[i] = i;
+                    }
+                }
+                this._remaining = size;
             }
 
-            return value;
+            int[] order = this._order;
+            int position = this._randomizer.nextInt(this._remaining);
+            int last = --this._remaining;
+            int index = order[position];
+            order[position] = order[last];
+            order[last] = index;
+
+            return this._currentList.get(index);
         }
 
     }
@@ -95,7 +155,7 @@ public abstract class SelectionGenerator<T> extends Generator<Void, T> {
 
         private int _currentIndex = 0;
 
-        public Sequential(Class<T> clz, Random randomizer) {
+        public Sequential(Class<T> clz, RandomSource randomizer) {
             super(clz, randomizer);
         }
 
@@ -119,6 +179,49 @@ public abstract class SelectionGenerator<T> extends Generator<Void, T> {
             return (SelectionGenerator.Sequential<T>) super.withElements(elements);
         }
 
+        // a circular selection over a constant list only has to move its index
+        @Override
+        public boolean isSeekable() {
+            return this._isCircular && ( this._sourceGenerator instanceof ConstantGenerator );
+        }
+
+        @Override
+        public void skip(long n) {
+            if (!this.isSeekable()) {
+                super.skip(n);
+                return;
+            }
+            if (this._currentList == null || this._currentList.size() == 0) {
+                this._currentList = this._sourceGenerator.get();
+                if (this._currentList.size() == 0) {
+                    throw new MockeyJockeyException("Source generator generated a list with 0 elements", this.getClass().getName(), this._tag);
+                }
+            }
+            int size = this._currentList.size();
+            this._currentIndex = (int) ( ( this._currentIndex % size + n % size ) % size );
+        }
+
+        // a circular selection walks the same list for the whole batch
+        @Override
+        protected void fillArray(Object[] dst, int off, int len) {
+            if (this._explicitReset || !this._isCircular || len == 0) {
+                super.fillArray(dst, off, len);
+                return;
+            }
+            dst[off] = this.generate();
+            List<T> list = this._currentList;
+            int size = list.size();
+            int index = this._currentIndex % size;
+            for (int i = off + 1, end = off + len; i < end; i++) {
+                dst[i] = list.get(index);
+                if (++index == size) {
+                    index = 0;
+                }
+            }
+            this._currentIndex = index;
+            this.setLastFilled(dst, off, len);
+        }
+
         @Override
         protected T generate() {
             if (this._sourceGenerator == null) {
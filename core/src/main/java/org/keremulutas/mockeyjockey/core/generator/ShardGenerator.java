@@ -0,0 +1,90 @@
+package org.keremulutas.mockeyjockey.core.generator;
+
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// yields records [from, to) of a generator's global sequence
+// every record draws its random values from the sub-stream of its own index, so the output of a shard does not depend
+// on which records were generated before it
+public class ShardGenerator<OT> extends Generator<Void, OT> implements Iterator<OT> {
+
+    private Generator<?, OT> _sourceGenerator;
+    private long _from;
+    private long _to;
+    private long _index;
+    private boolean _positioned = false;
+
+    public ShardGenerator(Generator<?, OT> sourceGenerator, long from, long to) {
+        super(sourceGenerator._randomizer);
+        if (from < 0 || to < from) {
+            throw new MockeyJockeyException("Invalid shard range [" + from + ", " + to + ")", this.getClass().getName(), this._tag);
+        }
+        this._sourceGenerator = sourceGenerator;
+        this._from = from;
+        this._to = to;
+        this._index = from;
+    }
+
+    private void position() {
+        if (this._sourceGenerator.isSeekable()) {
+            this._sourceGenerator.skip(this._from);
+        } else {
+            for (long i = 0; i < this._from; i++) {
+                this._randomizer.jumpTo(i);
+                this._sourceGenerator.get();
+            }
+        }
+        this._positioned = true;
+    }
+
+    public Generator<?, OT> getSourceGenerator() {
+        return this._sourceGenerator;
+    }
+
+    public long getFrom() {
+        return this._from;
+    }
+
+    public long getTo() {
+        return this._to;
+    }
+
+    // index of the record which will be generated next
+    public long getIndex() {
+        return this._index;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this._index < this._to;
+    }
+
+    @Override
+    public OT next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.get();
+    }
+
+    @Override
+    protected OT generate() {
+        if (!this._positioned) {
+            this.position();
+        }
+        if (this._index >= this._to) {
+            throw new MockeyJockeyException("Shard [" + this._from + ", " + this._to + ") is exhausted", this.getClass().getName(), this._tag);
+        }
+        this._randomizer.jumpTo(this._index);
+        this._index++;
+        return this._sourceGenerator.get();
+    }
+
+    @Override
+    public Class<OT> getTargetObjectClass() {
+        return this._sourceGenerator.getTargetObjectClass();
+    }
+
+}
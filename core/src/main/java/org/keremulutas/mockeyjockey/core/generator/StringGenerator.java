@@ -1,8 +1,9 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
 import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomEngine;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
 
-import java.util.Random;
 import java.util.function.Supplier;
 
 public class StringGenerator extends Generator<Void, String> {
@@ -13,7 +14,7 @@ public class StringGenerator extends Generator<Void, String> {
     private Supplier<Integer> _lengthGenerator;
     private char[] _subset = basic_subset;
 
-    public StringGenerator(Random randomizer) {
+    public StringGenerator(RandomSource randomizer) {
         super(randomizer);
     }
 
@@ -32,16 +33,27 @@ public class StringGenerator extends Generator<Void, String> {
         return this;
     }
 
+    @Override
+    public boolean isSeekable() {
+        return isSeekable(this._lengthGenerator);
+    }
+
+    @Override
+    public void skip(long n) {
+        skip(this._lengthGenerator, n);
+    }
+
     @Override
     protected String generate() {
         if (this._lengthGenerator == null) {
             throw new MockeyJockeyException("Length must be supplied", this.getClass().getName(), this._tag);
         }
-        int length = this._lengthGenerator.get();
+        int length = PrimitiveIntSupplier.nextIntFrom(this._lengthGenerator);
 
         char[] buf = new char[length];
+        RandomEngine random = this._randomizer.current();
         for (int i = 0, subsetLength = this._subset.length; i < length; i++) {
-            buf[i] = this._subset[this._randomizer.nextInt(subsetLength)];
+            buf[i] = this._subset[random.nextInt(subsetLength)];
 
             // buf[i] = (char) ( this._randomizer.nextInt(25) + 97);
 
@@ -51,6 +63,26 @@ public class StringGenerator extends Generator<Void, String> {
         return String.valueOf(buf);
     }
 
+    // a constant length lets the whole batch share one char buffer
+    @Override
+    protected void fillArray(Object[] dst, int off, int len) {
+        if (this._explicitReset || !( this._lengthGenerator instanceof ConstantGenerator )) {
+            super.fillArray(dst, off, len);
+            return;
+        }
+        int length = PrimitiveIntSupplier.nextIntFrom(this._lengthGenerator);
+        char[] buf = new char[length];
+        char[] subset = this._subset;
+        RandomEngine random = this._randomizer.current();
+        for (int i = off, end = off + len; i < end; i++) {
+            for (int j = 0; j < length; j++) {
+                buf[j] = subset[random.nextInt(subset.length)];
+            }
+            dst[i] = String.valueOf(buf);
+        }
+        this.setLastFilled(dst, off, len);
+    }
+
     @Override
     public Class<String> getTargetObjectClass() {
         return String.class;
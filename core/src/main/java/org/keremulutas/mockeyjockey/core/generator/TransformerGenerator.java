@@ -16,6 +16,16 @@ public class TransformerGenerator<OIT, IIT, OT> extends Generator<OIT, OT> {
         this._fn = fn;
     }
 
+    @Override
+    public boolean isSeekable() {
+        return isSeekable(this._sourceGenerator);
+    }
+
+    @Override
+    public void skip(long n) {
+        skip(this._sourceGenerator, n);
+    }
+
     @Override
     protected OT generate() {
         IIT value = this._sourceGenerator.get();
@@ -1,135 +1,306 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
-import java.util.*;
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class WeightedGenerator<T> extends Generator<Void, T> {
 
+    public enum Sampling {
+        // every value is picked exactly as many times as its weight in a round, weights are generated again for
+        // every round. picking is O(log k) on a fenwick tree over the remaining counts
+        DECK,
+        // every pick is independent, with the probability weight / total. O(1) with an alias table built from the
+        // weights generated when the values are added
+        WITH_REPLACEMENT
+    }
+
     private Class<T> _objectClass;
-    private Map<Supplier<T>, Supplier<Integer>> _weightsMap = new HashMap<>();
-    // private List<Supplier<T>> _availableSuppliers = new ArrayList<>();
-    private LinkedHashMap<Supplier<T>, Integer> _availableSuppliers = new LinkedHashMap<>();
+    // entries are values or suppliers of values (marked in _supplied), with a fixed weight or a weight generator which
+    // is called for every round. values added in bulk only take a slot in the parallel arrays
+    private Object[] _entries = new Object[16];
+    private boolean[] _supplied = new boolean[16];
+    private Object[] _weightGenerators = new Object[16];
+    private int[] _weights = new int[16];
+    private int _size = 0;
     private boolean _sequential = false;
+    private Sampling _sampling = Sampling.DECK;
+
+    // deck: what is left of the weights in this round and a fenwick tree over it, null when it has to be rebuilt
+    private int[] _counts = new int[16];
+    private long _remaining = 0;
+    private long[] _tree;
+    private int _sequentialIndex = 0;
+
+    // with replacement: column i is picked uniformly, then i itself if a draw below the total is below its threshold,
+    // otherwise its alias. null when it has to be rebuilt
+    private long[] _thresholds;
+    private int[] _aliases;
+    private long _total;
 
-    public WeightedGenerator(Class<T> clz, Random randomizer) {
+    public WeightedGenerator(Class<T> clz, RandomSource randomizer) {
         super(randomizer);
         this._objectClass = clz;
     }
 
     public WeightedGenerator<T> add(T value, int weight) {
-        return this.add(
-            new ConstantGenerator<>(value, this._randomizer),
-            new ConstantGenerator<>(weight, _randomizer)
-        );
+        this.ensureCapacity(1);
+        this.append(value, false, null, weight);
+        return this;
     }
 
     public WeightedGenerator<T> add(Supplier<T> supplier, int weight) {
-        return this.add(
-            supplier,
-            new ConstantGenerator<>(weight, _randomizer)
-        );
+        this.ensureCapacity(1);
+        this.append(supplier, true, null, weight);
+        return this;
     }
 
     public WeightedGenerator<T> add(T value, Supplier<Integer> weightGenerator) {
-        return this.add(
-            new ConstantGenerator<>(value, this._randomizer),
-            weightGenerator
-        );
-    }
-
-    // TODO: addEach ve addN (random üreteçten n tane üretip her birini weight supplier dan gelen weight kadar ekleme)
-    // public WeightedGenerator<T> addEach(List<T> valueList, int weight) {
-    //     WeightedGenerator<T> self = this;
-    //     valueList.forEach(new Consumer<T>() {
-    //         @Override
-    //         public void accept(T t) {
-    //             self.add(t, weight);
-    //         }
-    //     });
-    //     return this;
-    // }
+        this.ensureCapacity(1);
+        this.append(value, false, weightGenerator, this.nextWeight(weightGenerator));
+        return this;
+    }
 
+    // the weight is generated right away, the supplier joins the current round
     public WeightedGenerator<T> add(Supplier<T> supplier, Supplier<Integer> weightGenerator) {
-        this._weightsMap.put(supplier, weightGenerator);
-        this.fillList(supplier, weightGenerator);
+        this.ensureCapacity(1);
+        this.append(supplier, true, weightGenerator, this.nextWeight(weightGenerator));
+        return this;
+    }
+
+    public WeightedGenerator<T> addEach(Collection<? extends T> values, int weight) {
+        this.ensureCapacity(values.size());
+        for (T value : values) {
+            this.append(value, false, null, weight);
+        }
+        return this;
+    }
+
+    // every value gets a weight of its own from the weight generator, for every round
+    public WeightedGenerator<T> addEach(Collection<? extends T> values, Supplier<Integer> weightGenerator) {
+        this.ensureCapacity(values.size());
+        for (T value : values) {
+            this.append(value, false, weightGenerator, this.nextWeight(weightGenerator));
+        }
         return this;
     }
 
+    // n values are generated once and added like addEach
+    public WeightedGenerator<T> addN(Supplier<T> valueGenerator, int n, int weight) {
+        this.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            this.append(valueGenerator.get(), false, null, weight);
+        }
+        return this;
+    }
+
+    public WeightedGenerator<T> addN(Supplier<T> valueGenerator, int n, Supplier<Integer> weightGenerator) {
+        this.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            this.append(valueGenerator.get(), false, weightGenerator, this.nextWeight(weightGenerator));
+        }
+        return this;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = this._size + additional;
+        if (required > this._entries.length) {
+            int capacity = Math.max(required, this._entries.length * 2);
+            this._entries = Arrays.copyOf(this._entries, capacity);
+            this._supplied = Arrays.copyOf(this._supplied, capacity);
+            this._weightGenerators = Arrays.copyOf(this._weightGenerators, capacity);
+            this._weights = Arrays.copyOf(this._weights, capacity);
+            this._counts = Arrays.copyOf(this._counts, capacity);
+        }
+    }
+
+    private void append(Object entry, boolean supplied, Supplier<Integer> weightGenerator, int weight) {
+        if (weight < 0) {
+            throw new MockeyJockeyException("Weights can not be negative, given: " + weight, this.getClass().getName(), this._tag);
+        }
+        this._entries[this._size] = entry;
+        this._supplied[this._size] = supplied;
+        this._weightGenerators[this._size] = weightGenerator;
+        this._weights[this._size] = weight;
+        this._counts[this._size] = weight;
+        this._remaining += weight;
+        this._size++;
+        this._tree = null;
+        this._aliases = null;
+    }
+
+    // picks the suppliers in the order they were added, each as many times as its weight
     public WeightedGenerator<T> sequential() {
         this._sequential = true;
         return this;
     }
 
-    private void fillList() {
-        for (Supplier<T> supplier : this._weightsMap.keySet()) {
-            int x = this._weightsMap.get(supplier).get();
-            this._availableSuppliers.put(supplier, x);
-        }
+    public WeightedGenerator<T> withReplacement() {
+        return this.sampling(Sampling.WITH_REPLACEMENT);
     }
 
-    private void fillList(Supplier<T> supplier, Supplier<Integer> weightGenerator) {
-        int x = weightGenerator.get();
-        this._availableSuppliers.put(supplier, x);
+    public WeightedGenerator<T> sampling(Sampling sampling) {
+        this._sampling = sampling;
+        return this;
     }
 
-    private int remainingCount() {
-        return this._availableSuppliers.values().stream().mapToInt(Integer::intValue).sum();
+    private int nextWeight(Supplier<Integer> weightGenerator) {
+        int weight = weightGenerator.get();
+        if (weight < 0) {
+            throw new MockeyJockeyException("Weights can not be negative, given: " + weight, this.getClass().getName(), this._tag);
+        }
+        return weight;
     }
 
-    @Override
     @SuppressWarnings("unchecked")
-    protected T generate() {
-        if (this._availableSuppliers.size() == 0) {
-            this.fillList();
+    private void fillDeck() {
+        this._remaining = 0;
+        for (int i = 0; i < this._size; i++) {
+            Supplier<Integer> weightGenerator = (Supplier<Integer>) this._weightGenerators[i];
+            if (weightGenerator != null) {
+                this._weights[i] = this.nextWeight(weightGenerator);
+            }
+            this._counts[i] = this._weights[i];
+            this._remaining += this._weights[i];
         }
-        Supplier<T> supplier = null;
-        Iterator<Supplier<T>> it = this._availableSuppliers.keySet().iterator();
-        if(this._sequential) {
-            supplier = it.next();
-        } else {
-            int x = this._randomizer.nextInt(this.remainingCount());
-            do {
-                supplier = it.next();
-                x -= this._availableSuppliers.get(supplier);
-            } while(x > 0);
+        if (this._remaining == 0) {
+            throw new MockeyJockeyException("Weights sum up to zero", this.getClass().getName(), this._tag);
         }
+        this._tree = null;
+        this._sequentialIndex = 0;
+    }
 
-        Integer count = this._availableSuppliers.get(supplier);
-        if(count == 1) {
-            it.remove();
+    // fenwick tree, 1 based: tree[i] holds the sum of counts (i - lowbit(i), i]
+    private void buildTree() {
+        long[] tree = new long[this._size + 1];
+        for (int i = 1; i <= this._size; i++) {
+            tree[i] += this._counts[i - 1];
+            int parent = i + ( i & -i );
+            if (parent <= this._size) {
+                tree[parent] += tree[i];
+            }
+        }
+        this._tree = tree;
+    }
+
+    // the index whose range of the cumulative counts includes x
+    private int findIndex(long x) {
+        long[] tree = this._tree;
+        int position = 0;
+        for (int step = Integer.highestOneBit(this._size); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= this._size && tree[next] <= x) {
+                position = next;
+                x -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private void decrementTree(int index) {
+        long[] tree = this._tree;
+        for (int i = index + 1; i <= this._size; i += i & -i) {
+            tree[i]--;
+        }
+    }
+
+    // vose's alias method on integers: weights are scaled by the number of columns, so that every column holds the
+    // total. a column below the total is topped up by a column above it, which becomes its alias
+    private void buildAliasTable() {
+        int n = this._size;
+        long total = 0;
+        long[] scaled = new long[n];
+        for (int i = 0; i < n; i++) {
+            total += this._weights[i];
+            scaled[i] = (long) this._weights[i] * n;
+        }
+        if (total == 0) {
+            throw new MockeyJockeyException("Weights sum up to zero", this.getClass().getName(), this._tag);
+        }
+        long[] thresholds = new long[n];
+        int[] aliases = new int[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (scaled[i] < total) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] -= total - scaled[less];
+            if (scaled[more] < total) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            int more = large[--largeCount];
+            thresholds[more] = total;
+            aliases[more] = more;
+        }
+        while (smallCount > 0) {
+            int less = small[--smallCount];
+            thresholds[less] = total;
+            aliases[less] = less;
+        }
+        this._thresholds = thresholds;
+        this._aliases = aliases;
+        this._total = total;
+    }
+
+    private int nextIndex() {
+        if (this._sampling == Sampling.WITH_REPLACEMENT && !this._sequential) {
+            if (this._aliases == null) {
+                this.buildAliasTable();
+            }
+            int index = this._randomizer.nextInt(this._size);
+            return ( this._randomizer.nextLong(this._total) < this._thresholds[index] ) ? index : this._aliases[index];
+        }
+
+        if (this._remaining == 0) {
+            this.fillDeck();
+        }
+        int index;
+        if (this._sequential) {
+            while (this._counts[this._sequentialIndex] == 0) {
+                this._sequentialIndex++;
+            }
+            index = this._sequentialIndex;
+            this._tree = null;
         } else {
-            this._availableSuppliers.replace(supplier, count - 1);
-        }
-
-        return supplier.get();
-    }
-
-    // private void fillList() {
-    //     for (Supplier<T> supplier : this._weightsMap.keySet()) {
-    //         int x = this._weightsMap.get(supplier).get();
-    //         for (int i = 0; i < x; i++) {
-    //             this._availableSuppliers.add(supplier);
-    //         }
-    //     }
-    // }
-    //
-    // private void fillList(Supplier<T> supplier, Supplier<Integer> weightGenerator) {
-    //     int x = weightGenerator.get();
-    //     for (int i = 0; i < x; i++) {
-    //         this._availableSuppliers.add(supplier);
-    //     }
-    // }
-    //
-    // @Override
-    // @SuppressWarnings("unchecked")
-    // protected T generate() {
-    //     if (this._availableSuppliers.size() == 0) {
-    //         this.fillList();
-    //     }
-    //     int x = (this._sequential) ? 0 : this._randomizer.nextInt(this._availableSuppliers.size());
-    //     return this._availableSuppliers.remove(x).get();
-    // }
+            if (this._tree == null) {
+                this.buildTree();
+            }
+            index = this.findIndex(this._randomizer.nextLong(this._remaining));
+            this.decrementTree(index);
+        }
+        this._counts[index]--;
+        this._remaining--;
+        return index;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T generate() {
+        if (this._size == 0) {
+            throw new MockeyJockeyException("No values added", this.getClass().getName(), this._tag);
+        }
+        int index = this.nextIndex();
+        Object entry = this._entries[index];
+        return this._supplied[index] ? ( (Supplier<T>) entry ).get() : (T) entry;
+    }
 
     @Override
     public Class<T> getTargetObjectClass() {
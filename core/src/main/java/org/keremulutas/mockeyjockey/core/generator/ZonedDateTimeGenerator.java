@@ -1,20 +1,91 @@
 package org.keremulutas.mockeyjockey.core.generator;
 
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
 import java.time.*;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.Collection;
 import java.util.List;
-import java.util.Random;
 import java.util.function.Supplier;
 
+// time is tracked as nanoseconds since the epoch (which covers the years 1677 to 2262), a ZonedDateTime is only built
+// when one is asked for. nextEpochNanos, nextEpochMillis and nextEpochSecond return the same instants without it
 public abstract class ZonedDateTimeGenerator extends Generator<Void, ZonedDateTime> {
 
+    protected static final long NANOS_PER_SECOND = 1_000_000_000L;
+    protected static final long NANOS_PER_MILLI = 1_000_000L;
+
     protected ZoneId _zoneId;
+    // the offset of the zone is cached for the seconds [_offsetFrom, _offsetUntil), up to its next transition
+    private ZoneRules _zoneRules;
+    private ZoneOffset _zoneOffset;
+    private long _offsetFrom;
+    private long _offsetUntil;
+    private long _lastValue;
 
-    public ZonedDateTimeGenerator(Random randomizer) {
+    public ZonedDateTimeGenerator(RandomSource randomizer) {
         super(randomizer);
-        this._zoneId = ZoneId.systemDefault();
+        this.zoneId(ZoneId.systemDefault());
+    }
+
+    protected void zoneId(ZoneId zoneId) {
+        this._zoneId = zoneId;
+        this._zoneRules = zoneId.getRules();
+        this._zoneOffset = null;
+        this._offsetFrom = Long.MAX_VALUE;
+        this._offsetUntil = Long.MIN_VALUE;
+    }
+
+    protected static long toEpochNanos(ZonedDateTime zonedDateTime) {
+        return Math.addExact(Math.multiplyExact(zonedDateTime.toEpochSecond(), NANOS_PER_SECOND), zonedDateTime.getNano());
+    }
+
+    protected static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND), Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+    protected ZonedDateTime toZonedDateTime(long epochNanos) {
+        long seconds = Math.floorDiv(epochNanos, NANOS_PER_SECOND);
+        int nanos = (int) Math.floorMod(epochNanos, NANOS_PER_SECOND);
+        if (seconds < this._offsetFrom || seconds >= this._offsetUntil) {
+            Instant instant = Instant.ofEpochSecond(seconds);
+            this._zoneOffset = this._zoneRules.getOffset(instant);
+            ZoneOffsetTransition transition = this._zoneRules.isFixedOffset() ? null : this._zoneRules.nextTransition(instant);
+            this._offsetFrom = this._zoneRules.isFixedOffset() ? Long.MIN_VALUE : seconds;
+            this._offsetUntil = ( transition == null ) ? Long.MAX_VALUE : transition.toEpochSecond();
+        }
+        return ZonedDateTime.ofInstant(LocalDateTime.ofEpochSecond(seconds, nanos, this._zoneOffset), this._zoneOffset, this._zoneId);
+    }
+
+    protected abstract long generateEpochNanos();
+
+    @Override
+    protected ZonedDateTime generate() {
+        return this.toZonedDateTime(this.generateEpochNanos());
+    }
+
+    public long nextEpochNanos() {
+        if (this._explicitReset) {
+            return toEpochNanos(this.get());
+        }
+        this._lastValue = this.generateEpochNanos();
+        this._unboxedOutput = true;
+        return this._lastValue;
+    }
+
+    public long nextEpochMillis() {
+        return Math.floorDiv(this.nextEpochNanos(), NANOS_PER_MILLI);
+    }
+
+    public long nextEpochSecond() {
+        return Math.floorDiv(this.nextEpochNanos(), NANOS_PER_SECOND);
+    }
+
+    @Override
+    protected ZonedDateTime boxLastValue() {
+        return this.toZonedDateTime(this._lastValue);
     }
 
     public static class WithFrequency extends ZonedDateTimeGenerator {
@@ -25,33 +96,32 @@ public abstract class ZonedDateTimeGenerator extends Generator<Void, ZonedDateTi
         private ChronoUnit _timeUnit;
         private long _currentCount;
         private long _period;
-        private int _counter = 0;
-        private ZonedDateTime _nextResult;
-        private ZonedDateTime _lastPeriodStart;
+        private long _counter = 0;
         private long _offset;
+        private long _nextValue;
+        private long _periodStart;
+        // date based units (days, months, ...) vary in length, so their periods are found on the calendar of the
+        // start's zone, once per period
+        private ZonedDateTime _periodEnd;
 
-        public WithFrequency(Random randomizer) {
+        public WithFrequency(RandomSource randomizer) {
             super(randomizer);
             this._start = ZonedDateTime.now();
-            this._lastPeriodStart = this._start;
-            this._nextResult = this._start;
             this._countGenerator = new ConstantGenerator<>(1L, randomizer);
             this._currentCount = this._countGenerator.get();
             this._timeAmount = 1;
             this._timeUnit = ChronoUnit.SECONDS;
-            this._period = this._timeAmount * this._timeUnit.getDuration().toNanos();
-            this._offset = Math.floorDiv(this._period, this._currentCount);
+            this.resetPeriod();
         }
 
         public ZonedDateTimeGenerator.WithFrequency withZoneId(ZoneId zoneId) {
-            this._zoneId = zoneId;
+            this.zoneId(zoneId);
             return this;
         }
 
         public WithFrequency start(ZonedDateTime zonedDateTime) {
             this._start = zonedDateTime;
-            this._nextResult = this._start;
-            this._lastPeriodStart = this._start;
+            this.resetPeriod();
             return this;
         }
 
@@ -61,27 +131,47 @@ public abstract class ZonedDateTimeGenerator extends Generator<Void, ZonedDateTi
 
         public WithFrequency frequency(Supplier<Long> countGenerator, int timeAmount, ChronoUnit chronoUnit) {
             this._countGenerator = countGenerator;
-            this._currentCount = this._countGenerator.get();
+            this._currentCount = PrimitiveLongSupplier.nextLongFrom(this._countGenerator);
             this._timeAmount = timeAmount;
             this._timeUnit = chronoUnit;
-            this._period = ChronoUnit.NANOS.between(this._nextResult, this._nextResult.plus(this._timeAmount, this._timeUnit));
-            this._offset = Math.floorDiv(this._period, this._currentCount);
+            this.resetPeriod();
             return this;
         }
 
+        private void resetPeriod() {
+            this._counter = 0;
+            this._periodStart = toEpochNanos(this._start);
+            this._nextValue = this._periodStart;
+            if (this._timeUnit.isTimeBased()) {
+                this._periodEnd = null;
+                this._period = Math.multiplyExact(this._timeAmount, this._timeUnit.getDuration().toNanos());
+            } else {
+                this._periodEnd = this._start.plus(this._timeAmount, this._timeUnit);
+                this._period = toEpochNanos(this._periodEnd) - this._periodStart;
+            }
+            this._offset = Math.floorDiv(this._period, this._currentCount);
+        }
+
+        private void nextPeriod() {
+            this._periodStart += this._period;
+            if (this._periodEnd != null) {
+                this._periodEnd = this._periodEnd.plus(this._timeAmount, this._timeUnit);
+                this._period = toEpochNanos(this._periodEnd) - this._periodStart;
+            }
+            this._nextValue = this._periodStart;
+            this._offset = Math.floorDiv(this._period, this._currentCount);
+        }
+
         @Override
-        protected ZonedDateTime generate() {
-            ZonedDateTime result = ZonedDateTime.from(this._nextResult.withZoneSameInstant(this._zoneId));
+        protected long generateEpochNanos() {
+            long result = this._nextValue;
             this._counter++;
             if (this._counter == this._currentCount) {
                 this._counter = 0;
-                this._currentCount = this._countGenerator.get();
-                this._lastPeriodStart = this._lastPeriodStart.plus(this._timeAmount, this._timeUnit);
-                this._nextResult = this._lastPeriodStart;
-                this._period = ChronoUnit.NANOS.between(this._nextResult, this._nextResult.plus(this._timeAmount, this._timeUnit));
-                this._offset = Math.floorDiv(this._period, this._currentCount);
+                this._currentCount = PrimitiveLongSupplier.nextLongFrom(this._countGenerator);
+                this.nextPeriod();
             } else {
-                this._nextResult = this._nextResult.plusNanos(this._offset);
+                this._nextValue += this._offset;
             }
             return result;
         }
@@ -97,16 +187,17 @@ public abstract class ZonedDateTimeGenerator extends Generator<Void, ZonedDateTi
         private ChronoUnit _timeUnit;
         private long _currentCount;
         private long _currentRatioAppliedCount;
-        private List<Long> _currentRatioAppliedList = new ArrayList<>();
+        // the counts of the current ratios, the next one is at _currentRatioIndex
+        private long[] _currentRatioAppliedCounts = new long[0];
+        private int _currentRatioIndex = 0;
         private long _period;
-        private int _counter = 0;
-        private ZonedDateTime _nextResult;
+        private long _nextValue;
         private long _offset;
 
-        public WithRatio(Random randomizer) {
+        public WithRatio(RandomSource randomizer) {
             super(randomizer);
             this._start = ZonedDateTime.now();
-            this._nextResult = this._start;
+            this._nextValue = toEpochNanos(this._start);
             this._countGenerator = new ConstantGenerator<>(1L, randomizer);
             this._timeAmount = 1;
             this._timeUnit = ChronoUnit.SECONDS;
@@ -114,13 +205,13 @@ public abstract class ZonedDateTimeGenerator extends Generator<Void, ZonedDateTi
         }
 
         public ZonedDateTimeGenerator.WithRatio withZoneId(ZoneId zoneId) {
-            this._zoneId = zoneId;
+            this.zoneId(zoneId);
             return this;
         }
 
         public WithRatio start(ZonedDateTime zonedDateTime) {
             this._start = zonedDateTime;
-            this._nextResult = this._start;
+            this._nextValue = toEpochNanos(this._start);
             return this;
         }
 
@@ -151,32 +242,43 @@ public abstract class ZonedDateTimeGenerator extends Generator<Void, ZonedDateTi
             );
         }
 
+        private void applyRatios() {
+            this._currentCount = PrimitiveLongSupplier.nextLongFrom(this._countGenerator);
+            List<Double> ratios = this._ratioGenerator.get();
+            int size = ratios.size();
+            if (this._currentRatioAppliedCounts.length != size) {
+                this._currentRatioAppliedCounts = new long[size];
+            }
+            long total = 0;
+            for (int i = 0, j = size - 1; i < j; i++) {
+                long nextValue = Math.round(ratios.get(i) * this._currentCount);
+                this._currentRatioAppliedCounts[i] = nextValue;
+                total += nextValue;
+            }
+            this._currentRatioAppliedCounts[size - 1] = this._currentCount - total;
+            this._currentRatioIndex = 0;
+        }
+
         @Override
-        protected ZonedDateTime generate() {
-            if(this._currentRatioAppliedList.size() == 0) {
-                this._currentCount = this._countGenerator.get();
-                List<Double> ratios = this._ratioGenerator.get();
-                Long total = 0L;
-                for(int i = 0, j = ratios.size() - 1; i < j; i++) {
-                    Double ratio = ratios.get(i);
-                    Long nextValue = Math.round(ratio * this._currentCount);
-                    this._currentRatioAppliedList.add(nextValue);
-                    total += nextValue;
-                }
-                this._currentRatioAppliedList.add(this._currentCount - total);
+        protected long generateEpochNanos() {
+            if (this._currentRatioIndex == this._currentRatioAppliedCounts.length && this._currentRatioAppliedCount == 0) {
+                this.applyRatios();
             }
-            ZonedDateTime result = ZonedDateTime.from(this._nextResult.withZoneSameInstant(this._zoneId));
-            if(this._currentRatioAppliedCount == 0) {
-                this._currentRatioAppliedCount = this._currentRatioAppliedList.remove(0);
+            long result = this._nextValue;
+            if (this._currentRatioAppliedCount == 0) {
+                this._currentRatioAppliedCount = this._currentRatioAppliedCounts[this._currentRatioIndex++];
                 this._offset = Math.floorDiv(this._period, this._currentRatioAppliedCount);
             }
             this._currentRatioAppliedCount--;
-            if(this._currentRatioAppliedCount == 0) {
-                this._nextResult = this._nextResult
-                    .truncatedTo(this._timeUnit)
-                    .plus(1, this._timeUnit);
+            if (this._currentRatioAppliedCount == 0) {
+                // the unit is truncated on the calendar of the start's zone, once per unit
+                this._nextValue = toEpochNanos(
+                    toInstant(this._nextValue).atZone(this._start.getZone())
+                        .truncatedTo(this._timeUnit)
+                        .plus(1, this._timeUnit)
+                );
             } else {
-                this._nextResult = this._nextResult.plusNanos(this._offset);
+                this._nextValue += this._offset;
             }
             return result;
         }
@@ -0,0 +1,97 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+// bounded values use Lemire's multiply-shift method, the division is only needed on the rare rejection path
+// https://arxiv.org/abs/1805.10941
+public abstract class AbstractRandomEngine implements RandomEngine {
+
+    // engines must be able to restart from a seed, reproducible sources move to their sub-streams this way
+    public abstract void setSeed(long seed);
+
+    @Override
+    public abstract long nextLong();
+
+    @Override
+    public int nextInt() {
+        return (int) ( this.nextLong() >>> 32 );
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long m = ( this.nextInt() & 0xffffffffL ) * bound;
+        long l = m & 0xffffffffL;
+        if (l < bound) {
+            long t = ( 0x100000000L - bound ) % bound;
+            while (l < t) {
+                m = ( this.nextInt() & 0xffffffffL ) * bound;
+                l = m & 0xffffffffL;
+            }
+        }
+        return (int) ( m >>> 32 );
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long x = this.nextLong();
+        long l = x * bound;
+        if (Long.compareUnsigned(l, bound) < 0) {
+            long t = Long.remainderUnsigned(-bound, bound);
+            while (Long.compareUnsigned(l, t) < 0) {
+                x = this.nextLong();
+                l = x * bound;
+            }
+        }
+        return unsignedMultiplyHigh(x, bound);
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+        long n = bound - origin;
+        if (n > 0) {
+            return this.nextLong(n) + origin;
+        }
+        // the range does not fit into a positive long, sample the full range and reject
+        long r;
+        do {
+            r = this.nextLong();
+        } while (r < origin || r >= bound);
+        return r;
+    }
+
+    @Override
+    public double nextDouble() {
+        return ( this.nextLong() >>> 11 ) * 0x1.0p-53;
+    }
+
+    @Override
+    public double nextDouble(double origin, double bound) {
+        double r = origin + this.nextDouble() * ( bound - origin );
+        return ( r < bound ) ? r : Math.nextDown(bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return this.nextLong() < 0L;
+    }
+
+    // Math.multiplyHigh is not available on Java 8
+    static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xffffffffL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xffffffffL;
+        long y1 = y >>> 32;
+        long w0 = x0 * y0;
+        long t = x1 * y0 + ( w0 >>> 32 );
+        long w1 = ( t & 0xffffffffL ) + x0 * y1;
+        return x1 * y1 + ( t >>> 32 ) + ( w1 >>> 32 );
+    }
+
+}
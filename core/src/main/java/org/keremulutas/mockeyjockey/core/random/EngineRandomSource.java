@@ -0,0 +1,42 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+import java.util.function.LongFunction;
+
+// every thread gets its own engine created by the factory, seeds are handed out by a shared splitmix64 sequence.
+// splits only depend on the seed and the index, whichever threads used the source before
+public class EngineRandomSource implements RandomSource {
+
+    private final long _seed;
+    private final LongFunction<? extends RandomEngine> _factory;
+    private final SplitMix64Engine _seeds;
+    private final ThreadLocal<RandomEngine> _engines = ThreadLocal.withInitial(this::createEngine);
+
+    public EngineRandomSource(LongFunction<? extends RandomEngine> factory) {
+        this(factory, SplitMix64Engine.mix64(System.nanoTime() ^ System.identityHashCode(factory)));
+    }
+
+    public EngineRandomSource(LongFunction<? extends RandomEngine> factory, long seed) {
+        this._seed = seed;
+        this._factory = factory;
+        this._seeds = new SplitMix64Engine(seed);
+    }
+
+    private RandomEngine createEngine() {
+        long seed;
+        synchronized (this._seeds) {
+            seed = this._seeds.nextLong();
+        }
+        return this._factory.apply(seed);
+    }
+
+    @Override
+    public RandomEngine current() {
+        return this._engines.get();
+    }
+
+    @Override
+    public RandomSource split(long index) {
+        return new EngineRandomSource(this._factory, SeededRandomSource.deriveSeed(this._seed, index, SeededRandomSource.SPLIT_SALT));
+    }
+
+}
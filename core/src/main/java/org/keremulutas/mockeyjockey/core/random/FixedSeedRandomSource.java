@@ -0,0 +1,30 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+import java.util.SplittableRandom;
+
+// every thread starts from the same seed, so each of them replays exactly the same random sequence
+public class FixedSeedRandomSource implements RandomSource {
+
+    private final long _seed;
+    private final ThreadLocal<RandomEngine> _engines;
+
+    public FixedSeedRandomSource(long seed) {
+        this._seed = seed;
+        this._engines = ThreadLocal.withInitial(() -> new SplittableRandomEngine(new SplittableRandom(this._seed)));
+    }
+
+    public long getSeed() {
+        return this._seed;
+    }
+
+    @Override
+    public RandomEngine current() {
+        return this._engines.get();
+    }
+
+    @Override
+    public RandomSource split(long index) {
+        return new FixedSeedRandomSource(SeededRandomSource.deriveSeed(this._seed, index, 0L));
+    }
+
+}
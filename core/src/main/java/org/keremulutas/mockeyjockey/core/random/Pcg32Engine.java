@@ -0,0 +1,45 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+// PCG-XSH-RR with 64 bits of state and 32 bits of output
+// http://www.pcg-random.org/download.html
+public class Pcg32Engine extends AbstractRandomEngine {
+
+    private static final long MULTIPLIER = 6364136223846793005L;
+
+    private long _state;
+    private long _increment;
+
+    public Pcg32Engine(long seed) {
+        this.setSeed(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // the stream selector has to be odd
+        this._increment = ( SplitMix64Engine.mix64(seed ^ SplitMix64Engine.GOLDEN_GAMMA) << 1 ) | 1L;
+        this._state = 0L;
+        this.nextInt();
+        this._state += SplitMix64Engine.mix64(seed);
+        this.nextInt();
+    }
+
+    @Override
+    public int nextInt() {
+        long old = this._state;
+        this._state = old * MULTIPLIER + this._increment;
+        int xorShifted = (int) ( ( ( old >>> 18 ) ^ old ) >>> 27 );
+        int rotation = (int) ( old >>> 59 );
+        return Integer.rotateRight(xorShifted, rotation);
+    }
+
+    @Override
+    public long nextLong() {
+        return ( (long) this.nextInt() << 32 ) | ( this.nextInt() & 0xffffffffL );
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return this.nextInt() < 0;
+    }
+
+}
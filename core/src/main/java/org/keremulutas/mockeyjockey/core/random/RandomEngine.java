@@ -0,0 +1,27 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+// a random number generator owned by a single thread, implementations are not required to be thread-safe
+public interface RandomEngine {
+
+    int nextInt();
+
+    // uniformly distributed in [0, bound)
+    int nextInt(int bound);
+
+    long nextLong();
+
+    // uniformly distributed in [0, bound)
+    long nextLong(long bound);
+
+    // uniformly distributed in [origin, bound)
+    long nextLong(long origin, long bound);
+
+    // uniformly distributed in [0.0, 1.0)
+    double nextDouble();
+
+    // uniformly distributed in [origin, bound)
+    double nextDouble(double origin, double bound);
+
+    boolean nextBoolean();
+
+}
@@ -0,0 +1,85 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+import java.util.function.LongFunction;
+
+// resolves the RandomEngine of the calling thread, so that one generator graph can be used from many threads
+public interface RandomSource {
+
+    static RandomSource threadLocal() {
+        return ThreadLocalRandomSource.INSTANCE;
+    }
+
+    static RandomSource splittable() {
+        return new SplittableRandomSource();
+    }
+
+    static RandomSource splittable(long seed) {
+        return new SplittableRandomSource(seed);
+    }
+
+    static RandomSource fixedSeed(long seed) {
+        return new FixedSeedRandomSource(seed);
+    }
+
+    static RandomSource seeded(long seed) {
+        return new SeededRandomSource(seed);
+    }
+
+    static RandomSource seeded(long seed, LongFunction<? extends AbstractRandomEngine> engineFactory) {
+        return new SeededRandomSource(seed, engineFactory);
+    }
+
+    // e.g. RandomSource.withEngine(Xoroshiro128PlusEngine::new)
+    static RandomSource withEngine(LongFunction<? extends RandomEngine> engineFactory) {
+        return new EngineRandomSource(engineFactory);
+    }
+
+    static RandomSource withEngine(LongFunction<? extends RandomEngine> engineFactory, long seed) {
+        return new EngineRandomSource(engineFactory, seed);
+    }
+
+    RandomEngine current();
+
+    // moves the calling thread to the start of the given sub-stream, only reproducible sources act on it
+    default void jumpTo(long streamIndex) {
+
+    }
+
+    // an independent source for the given shard or partition, deterministic for reproducible sources
+    default RandomSource split(long index) {
+        return this;
+    }
+
+    default int nextInt() {
+        return this.current().nextInt();
+    }
+
+    default int nextInt(int bound) {
+        return this.current().nextInt(bound);
+    }
+
+    default long nextLong() {
+        return this.current().nextLong();
+    }
+
+    default long nextLong(long bound) {
+        return this.current().nextLong(bound);
+    }
+
+    default long nextLong(long origin, long bound) {
+        return this.current().nextLong(origin, bound);
+    }
+
+    default double nextDouble() {
+        return this.current().nextDouble();
+    }
+
+    default double nextDouble(double origin, double bound) {
+        return this.current().nextDouble(origin, bound);
+    }
+
+    default boolean nextBoolean() {
+        return this.current().nextBoolean();
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+import java.util.function.LongFunction;
+
+// reproducible source: every stream index maps to its own deterministic sub-stream of the master seed
+public class SeededRandomSource implements RandomSource {
+
+    private static final long STREAM_SALT = 0x5851f42d4c957f2dL;
+    static final long SPLIT_SALT = 0x14057b7ef767814fL;
+
+    private final long _seed;
+    private final LongFunction<? extends AbstractRandomEngine> _factory;
+    private final ThreadLocal<AbstractRandomEngine> _engines;
+
+    public SeededRandomSource(long seed) {
+        this(seed, SplitMix64Engine::new);
+    }
+
+    public SeededRandomSource(long seed, LongFunction<? extends AbstractRandomEngine> factory) {
+        this._seed = seed;
+        this._factory = factory;
+        this._engines = ThreadLocal.withInitial(() -> this._factory.apply(this.streamSeed(0L)));
+    }
+
+    static long deriveSeed(long seed, long index, long salt) {
+        return SplitMix64Engine.mix64(SplitMix64Engine.mix64(seed ^ salt) + index * SplitMix64Engine.GOLDEN_GAMMA);
+    }
+
+    public long getSeed() {
+        return this._seed;
+    }
+
+    private long streamSeed(long streamIndex) {
+        return deriveSeed(this._seed, streamIndex, STREAM_SALT);
+    }
+
+    @Override
+    public RandomEngine current() {
+        return this._engines.get();
+    }
+
+    @Override
+    public void jumpTo(long streamIndex) {
+        this._engines.get().setSeed(this.streamSeed(streamIndex));
+    }
+
+    @Override
+    public RandomSource split(long index) {
+        return new SeededRandomSource(deriveSeed(this._seed, index, SPLIT_SALT), this._factory);
+    }
+
+}
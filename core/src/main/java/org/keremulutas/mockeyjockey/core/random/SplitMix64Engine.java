@@ -0,0 +1,31 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+// http://xorshift.di.unimi.it/splitmix64.c
+// the state is a plain counter, so any position of a stream can be reached by re-seeding
+public class SplitMix64Engine extends AbstractRandomEngine {
+
+    static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long _state;
+
+    public SplitMix64Engine(long seed) {
+        this._state = seed;
+    }
+
+    public static long mix64(long z) {
+        z = ( z ^ ( z >>> 30 ) ) * 0xbf58476d1ce4e5b9L;
+        z = ( z ^ ( z >>> 27 ) ) * 0x94d049bb133111ebL;
+        return z ^ ( z >>> 31 );
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        this._state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(this._state += GOLDEN_GAMMA);
+    }
+
+}
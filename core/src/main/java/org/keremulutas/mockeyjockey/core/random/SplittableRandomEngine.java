@@ -0,0 +1,57 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+import java.util.SplittableRandom;
+
+public class SplittableRandomEngine implements RandomEngine {
+
+    private final SplittableRandom _random;
+
+    public SplittableRandomEngine(SplittableRandom random) {
+        this._random = random;
+    }
+
+    public SplittableRandomEngine split() {
+        return new SplittableRandomEngine(this._random.split());
+    }
+
+    @Override
+    public int nextInt() {
+        return this._random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return this._random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return this._random.nextLong();
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        return this._random.nextLong(bound);
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return this._random.nextLong(origin, bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return this._random.nextDouble();
+    }
+
+    @Override
+    public double nextDouble(double origin, double bound) {
+        return this._random.nextDouble(origin, bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return this._random.nextBoolean();
+    }
+
+}
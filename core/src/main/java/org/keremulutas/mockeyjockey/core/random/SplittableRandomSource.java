@@ -0,0 +1,38 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+import java.util.SplittableRandom;
+
+// every thread gets its own SplittableRandom, split from a shared root the first time the thread asks for one.
+// splits only depend on the seed and the index, whichever threads used the source before
+public class SplittableRandomSource implements RandomSource {
+
+    private final long _seed;
+    private final SplittableRandomEngine _root;
+    private final ThreadLocal<SplittableRandomEngine> _engines = ThreadLocal.withInitial(this::split);
+
+    public SplittableRandomSource() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public SplittableRandomSource(long seed) {
+        this._seed = seed;
+        this._root = new SplittableRandomEngine(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomEngine split() {
+        synchronized (this._root) {
+            return this._root.split();
+        }
+    }
+
+    @Override
+    public RandomSource split(long index) {
+        return new SplittableRandomSource(SeededRandomSource.deriveSeed(this._seed, index, SeededRandomSource.SPLIT_SALT));
+    }
+
+    @Override
+    public RandomEngine current() {
+        return this._engines.get();
+    }
+
+}
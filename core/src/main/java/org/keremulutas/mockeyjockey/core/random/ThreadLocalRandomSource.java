@@ -0,0 +1,57 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// looks up ThreadLocalRandom.current() on every call instead of capturing the instance of the constructing thread
+public class ThreadLocalRandomSource implements RandomSource {
+
+    static final ThreadLocalRandomSource INSTANCE = new ThreadLocalRandomSource();
+
+    private static final RandomEngine ENGINE = new RandomEngine() {
+        @Override
+        public int nextInt() {
+            return ThreadLocalRandom.current().nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return ThreadLocalRandom.current().nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return ThreadLocalRandom.current().nextLong();
+        }
+
+        @Override
+        public long nextLong(long bound) {
+            return ThreadLocalRandom.current().nextLong(bound);
+        }
+
+        @Override
+        public long nextLong(long origin, long bound) {
+            return ThreadLocalRandom.current().nextLong(origin, bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+
+        @Override
+        public double nextDouble(double origin, double bound) {
+            return ThreadLocalRandom.current().nextDouble(origin, bound);
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return ThreadLocalRandom.current().nextBoolean();
+        }
+    };
+
+    @Override
+    public RandomEngine current() {
+        return ENGINE;
+    }
+
+}
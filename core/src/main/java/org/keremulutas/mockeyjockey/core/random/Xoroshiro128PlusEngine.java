@@ -0,0 +1,32 @@
+package org.keremulutas.mockeyjockey.core.random;
+
+// http://xoroshiro.di.unimi.it/xoroshiro128plus.c
+// the lowest bits are weak, AbstractRandomEngine only uses the high bits for ints, doubles and booleans
+public class Xoroshiro128PlusEngine extends AbstractRandomEngine {
+
+    private long _s0;
+    private long _s1;
+
+    public Xoroshiro128PlusEngine(long seed) {
+        this.setSeed(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // the state must not be all zeros, splitmix64 never outputs two consecutive zeros
+        this._s0 = SplitMix64Engine.mix64(seed += SplitMix64Engine.GOLDEN_GAMMA);
+        this._s1 = SplitMix64Engine.mix64(seed + SplitMix64Engine.GOLDEN_GAMMA);
+    }
+
+    @Override
+    public long nextLong() {
+        long s0 = this._s0;
+        long s1 = this._s1;
+        long result = s0 + s1;
+        s1 ^= s0;
+        this._s0 = Long.rotateLeft(s0, 24) ^ s1 ^ ( s1 << 16 );
+        this._s1 = Long.rotateLeft(s1, 37);
+        return result;
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.keremulutas.mockeyjockey.core.sink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum Compression {
+
+    NONE,
+    GZIP,
+    DEFLATE;
+
+    // level is one of the Deflater levels, Deflater.DEFAULT_COMPRESSION or 0 (no compression) to 9 (best compression)
+    OutputStream wrap(OutputStream out, int level, int bufferSize) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(out, bufferSize) {
+                    {
+                        this.def.setLevel(level);
+                    }
+                };
+            case DEFLATE:
+                Deflater deflater = new Deflater(level);
+                return new DeflaterOutputStream(out, deflater, bufferSize) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            // a Deflater passed in is not released by DeflaterOutputStream
+                            deflater.end();
+                        }
+                    }
+                };
+            default:
+                return out;
+        }
+    }
+
+}
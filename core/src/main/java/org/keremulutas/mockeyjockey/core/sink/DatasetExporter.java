@@ -0,0 +1,279 @@
+package org.keremulutas.mockeyjockey.core.sink;
+
+import org.keremulutas.mockeyjockey.MockeyJockey;
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.generator.Generator;
+import org.keremulutas.mockeyjockey.core.generator.GeneratorGraph;
+import org.keremulutas.mockeyjockey.core.generator.ShardGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// writes files x linesPerFile records on a pool of threads. file i holds records [i * linesPerFile, (i + 1) * linesPerFile)
+// of the whole dataset and is generated by a graph of its own, built for its partition: the partition hands out a
+// MockeyJockey with an independent random stream and the record range, so sequences (ids, ip addresses, ...) can start
+// at the first record of the file and the files stay consistent with each other whichever thread writes them
+public class DatasetExporter<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetExporter.class);
+
+    @FunctionalInterface
+    public interface FileWriter<T> {
+        void write(Supplier<T> records, long count, Path path);
+    }
+
+    public static class Partition {
+
+        private final MockeyJockey _root;
+        private final int _fileIndex;
+        private final long _from;
+        private final long _to;
+        private final Path _path;
+
+        Partition(MockeyJockey root, int fileIndex, long from, long to, Path path) {
+            this._root = root;
+            this._fileIndex = fileIndex;
+            this._from = from;
+            this._to = to;
+            this._path = path;
+        }
+
+        // independent random stream of this file, reproducible if the root is seeded
+        public MockeyJockey getMockeyJockey() {
+            return this._root.split(this._fileIndex);
+        }
+
+        public MockeyJockey getRoot() {
+            return this._root;
+        }
+
+        public int getFileIndex() {
+            return this._fileIndex;
+        }
+
+        // index of the first record of this file in the whole dataset
+        public long getFrom() {
+            return this._from;
+        }
+
+        public long getTo() {
+            return this._to;
+        }
+
+        public Path getPath() {
+            return this._path;
+        }
+
+        // a copy of a graph configured once, with the random stream of this file, see GeneratorGraph
+        public <G extends Generator<?, ?>> G copy(G graph) {
+            return new GeneratorGraph(this._fileIndex).copyOf(graph);
+        }
+
+        // records [from, to) of a graph built from the root, the files then concatenate into the output of a single
+        // seeded run. graphs which are not seekable are replayed up to the offset, see Generator.shard
+        public <OT> ShardGenerator<OT> shard(Generator<?, OT> graph) {
+            return graph.shard(this._from, this._to);
+        }
+
+    }
+
+    public static class Progress {
+
+        private final int _filesDone;
+        private final int _files;
+        private final long _records;
+        private final long _totalRecords;
+        private final Duration _elapsed;
+
+        Progress(int filesDone, int files, long records, long totalRecords, Duration elapsed) {
+            this._filesDone = filesDone;
+            this._files = files;
+            this._records = records;
+            this._totalRecords = totalRecords;
+            this._elapsed = elapsed;
+        }
+
+        public int getFilesDone() {
+            return this._filesDone;
+        }
+
+        public int getFiles() {
+            return this._files;
+        }
+
+        public long getRecords() {
+            return this._records;
+        }
+
+        public long getTotalRecords() {
+            return this._totalRecords;
+        }
+
+        public Duration getElapsed() {
+            return this._elapsed;
+        }
+
+        public double getRecordsPerSecond() {
+            long nanos = this._elapsed.toNanos();
+            return ( nanos == 0 ) ? 0 : this._records * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%d/%d files, %d/%d records (%.1f%%), %.0f records/s, %d ms",
+                this._filesDone, this._files, this._records, this._totalRecords,
+                ( this._totalRecords == 0 ) ? 100.0 : this._records * 100.0 / this._totalRecords,
+                this.getRecordsPerSecond(), this._elapsed.toMillis()
+            );
+        }
+
+    }
+
+    private final MockeyJockey _mj;
+    private final Function<Partition, ? extends Supplier<T>> _graphs;
+    private final IntFunction<Path> _files;
+
+    private int _fileCount = -1;
+    private long _linesPerFile = -1;
+    private int _threads = Runtime.getRuntime().availableProcessors();
+    private FileWriter<T> _writer = (records, count, path) -> new NdjsonSink<>(records, path).records(count).write();
+    private Consumer<Progress> _progressListener = progress -> LOGGER.info("{}", progress);
+    private Duration _progressInterval = Duration.ofSeconds(5);
+
+    private final LongAdder _records = new LongAdder();
+    private final AtomicInteger _filesDone = new AtomicInteger();
+
+    // files.apply(0), files.apply(1), ... are the paths of the files
+    public DatasetExporter(MockeyJockey mj, Function<Partition, ? extends Supplier<T>> graphs, IntFunction<Path> files) {
+        this._mj = mj;
+        this._graphs = graphs;
+        this._files = files;
+    }
+
+    // the pattern is formatted with the file number, starting from 1: "users-%04d.ndjson"
+    public DatasetExporter(MockeyJockey mj, Function<Partition, ? extends Supplier<T>> graphs, String fileNamePattern) {
+        this(mj, graphs, index -> Paths.get(String.format(fileNamePattern, index + 1)));
+    }
+
+    public DatasetExporter<T> files(int fileCount) {
+        this._fileCount = fileCount;
+        return this;
+    }
+
+    public DatasetExporter<T> linesPerFile(long linesPerFile) {
+        this._linesPerFile = linesPerFile;
+        return this;
+    }
+
+    public DatasetExporter<T> threads(int threads) {
+        this._threads = threads;
+        return this;
+    }
+
+    // writes count records of the supplier into a file, e.g. with a DelimitedSink. ndjson is written by default
+    public DatasetExporter<T> writer(FileWriter<T> writer) {
+        this._writer = writer;
+        return this;
+    }
+
+    // called every interval while the export runs and once when it is done, progress is logged by default
+    public DatasetExporter<T> progress(Consumer<Progress> progressListener) {
+        this._progressListener = progressListener;
+        return this;
+    }
+
+    public DatasetExporter<T> progressInterval(Duration progressInterval) {
+        this._progressInterval = progressInterval;
+        return this;
+    }
+
+    public Progress export() {
+        if (this._fileCount <= 0 || this._linesPerFile <= 0) {
+            throw new MockeyJockeyException("File count and lines per file must be positive", this.getClass().getName(), null);
+        }
+        if (this._threads <= 0) {
+            throw new MockeyJockeyException("Thread count must be positive, given: " + this._threads, this.getClass().getName(), null);
+        }
+        if (this._progressInterval == null || this._progressInterval.isZero() || this._progressInterval.isNegative()) {
+            throw new MockeyJockeyException("Progress interval must be positive, given: " + this._progressInterval, this.getClass().getName(), null);
+        }
+        this._records.reset();
+        this._filesDone.set(0);
+        long start = System.nanoTime();
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(this._threads, this._fileCount), runnable -> {
+            Thread thread = new Thread(runnable, "mockeyjockey-export-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mockeyjockey-export-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = this._progressInterval.toNanos();
+        reporter.scheduleAtFixedRate(() -> this._progressListener.accept(this.progress(start)), interval, interval, TimeUnit.NANOSECONDS);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(this._fileCount);
+            for (int i = 0; i < this._fileCount; i++) {
+                int fileIndex = i;
+                futures.add(workers.submit(() -> this.exportFile(fileIndex)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MockeyJockeyException("Export interrupted", e, this.getClass().getName(), null);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MockeyJockeyException) {
+                throw (MockeyJockeyException) cause;
+            }
+            throw new MockeyJockeyException(cause, this.getClass().getName(), null);
+        } finally {
+            workers.shutdownNow();
+            reporter.shutdownNow();
+        }
+
+        Progress progress = this.progress(start);
+        this._progressListener.accept(progress);
+        return progress;
+    }
+
+    private void exportFile(int fileIndex) {
+        long from = fileIndex * this._linesPerFile;
+        Partition partition = new Partition(this._mj, fileIndex, from, from + this._linesPerFile, this._files.apply(fileIndex));
+        Supplier<T> graph = this._graphs.apply(partition);
+        LongAdder records = this._records;
+        this._writer.write(() -> {
+            records.increment();
+            return graph.get();
+        }, this._linesPerFile, partition.getPath());
+        this._filesDone.incrementAndGet();
+    }
+
+    private Progress progress(long start) {
+        return new Progress(
+            this._filesDone.get(), this._fileCount,
+            this._records.sum(), this._fileCount * this._linesPerFile,
+            Duration.ofNanos(System.nanoTime() - start)
+        );
+    }
+
+}
@@ -0,0 +1,463 @@
+package org.keremulutas.mockeyjockey.core.sink;
+
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.generator.GenericObjectGenerator;
+import org.keremulutas.mockeyjockey.core.generator.ShardGenerator;
+import org.keremulutas.mockeyjockey.core.type.GenericObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+
+// writes the records of a generic object generator as delimited lines (csv, tsv, ...), one column per field in the
+// order the fields were added (other sources need their columns to be set). values are encoded straight into a byte
+// buffer which is flushed to a FileChannel, a new file is started once a file reaches the line or byte limit
+public class DelimitedSink {
+
+    public enum Quoting {
+        // only values containing the delimiter, the quote, the escape or a line break are quoted
+        MINIMAL,
+        ALL,
+        // everything but numbers and booleans is quoted
+        NON_NUMERIC,
+        // nothing is quoted, special characters are prefixed with the escape character if there is one
+        NONE
+    }
+
+    private static class Column {
+        final String name;
+        final Function<GenericObject, ?> value;
+
+        Column(String name, Function<GenericObject, ?> value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    private final Supplier<GenericObject> _source;
+    private final IntFunction<Path> _files;
+    private final List<Column> _columns = new ArrayList<>();
+
+    private byte _delimiter = ',';
+    private byte _quote = '"';
+    private int _escape = -1;
+    private Quoting _quoting = Quoting.MINIMAL;
+    private byte[] _nullValue = new byte[0];
+    private byte[] _lineSeparator = { '\n' };
+    private boolean _header = false;
+
+    private long _maxRecords = -1;
+    private Duration _maxDuration;
+    private long _maxLinesPerFile = -1;
+    private long _maxBytesPerFile = -1;
+    private Compression _compression = Compression.NONE;
+    private int _compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int _bufferSize = 1 << 20;
+
+    private long _recordsWritten;
+    private long _bytesWritten;
+    private List<Path> _filesWritten = new ArrayList<>();
+
+    // files.apply(0), files.apply(1), ... are the files written one after the other
+    public DelimitedSink(Supplier<GenericObject> source, IntFunction<Path> files) {
+        this._source = source;
+        this._files = files;
+    }
+
+    // with a rollover, the index of the file is added before the extension: users.csv, users-1.csv, users-2.csv, ...
+    public DelimitedSink(Supplier<GenericObject> source, Path path) {
+        this(source, index -> ( index == 0 ) ? path : rolloverPath(path, index));
+    }
+
+    public DelimitedSink(Supplier<GenericObject> source, String file) {
+        this(source, Paths.get(file));
+    }
+
+    private static Path rolloverPath(Path path, int index) {
+        String name = path.getFileName().toString();
+        int dot = name.indexOf('.', 1);
+        String rolled = ( dot < 0 ) ? name + "-" + index : name.substring(0, dot) + "-" + index + name.substring(dot);
+        return path.resolveSibling(rolled);
+    }
+
+    // selects the columns and their order, the fields of the generator are written if no column is given.
+    // a field which is missing in a record (e.g. an optional one set by a mutator) is written as the null value
+    public DelimitedSink columns(String... fieldNames) {
+        for (String fieldName : fieldNames) {
+            this.column(fieldName);
+        }
+        return this;
+    }
+
+    public DelimitedSink column(String fieldName) {
+        this._columns.add(new Column(fieldName, null));
+        return this;
+    }
+
+    public DelimitedSink column(String header, Function<GenericObject, ?> value) {
+        this._columns.add(new Column(header, value));
+        return this;
+    }
+
+    public DelimitedSink delimiter(char delimiter) {
+        this._delimiter = asciiByte(delimiter);
+        return this;
+    }
+
+    public DelimitedSink quote(char quote) {
+        this._quote = asciiByte(quote);
+        return this;
+    }
+
+    // quotes inside quoted values are doubled (as in RFC 4180) unless an escape character is set
+    public DelimitedSink escape(char escape) {
+        this._escape = asciiByte(escape);
+        return this;
+    }
+
+    public DelimitedSink quoting(Quoting quoting) {
+        this._quoting = quoting;
+        return this;
+    }
+
+    public DelimitedSink nullValue(String nullValue) {
+        this._nullValue = nullValue.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    public DelimitedSink lineSeparator(String lineSeparator) {
+        this._lineSeparator = lineSeparator.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    // writes the column names as the first line of every file
+    public DelimitedSink header(boolean header) {
+        this._header = header;
+        return this;
+    }
+
+    public DelimitedSink records(long maxRecords) {
+        this._maxRecords = maxRecords;
+        return this;
+    }
+
+    public DelimitedSink maxDuration(Duration maxDuration) {
+        this._maxDuration = maxDuration;
+        return this;
+    }
+
+    public DelimitedSink maxLinesPerFile(long maxLinesPerFile) {
+        this._maxLinesPerFile = maxLinesPerFile;
+        return this;
+    }
+
+    // counts the uncompressed bytes, the line which crosses the limit still goes into the file
+    public DelimitedSink maxBytesPerFile(long maxBytesPerFile) {
+        this._maxBytesPerFile = maxBytesPerFile;
+        return this;
+    }
+
+    public DelimitedSink compression(Compression compression) {
+        this._compression = compression;
+        return this;
+    }
+
+    public DelimitedSink compression(Compression compression, int level) {
+        this._compression = compression;
+        this._compressionLevel = level;
+        return this;
+    }
+
+    public DelimitedSink bufferSize(int bufferSize) {
+        this._bufferSize = bufferSize;
+        return this;
+    }
+
+    public long getRecordsWritten() {
+        return this._recordsWritten;
+    }
+
+    public long getBytesWritten() {
+        return this._bytesWritten;
+    }
+
+    public List<Path> getFilesWritten() {
+        return Collections.unmodifiableList(this._filesWritten);
+    }
+
+    private byte asciiByte(char c) {
+        if (c >= 128) {
+            throw new MockeyJockeyException("Only ascii delimiter, quote and escape characters are supported: " + c, this.getClass().getName(), null);
+        }
+        return (byte) c;
+    }
+
+    private Column[] resolveColumns() {
+        if (!this._columns.isEmpty()) {
+            return this._columns.toArray(new Column[0]);
+        }
+        Supplier<?> source = this._source;
+        if (source instanceof ShardGenerator) {
+            source = ( (ShardGenerator<?>) source ).getSourceGenerator();
+        }
+        if (!( source instanceof GenericObjectGenerator )) {
+            throw new MockeyJockeyException("Columns must be set unless the source is a GenericObjectGenerator", this.getClass().getName(), null);
+        }
+        List<Column> columns = new ArrayList<>();
+        for (String fieldName : ( (GenericObjectGenerator) source ).getFieldGenerators().keySet()) {
+            columns.add(new Column(fieldName, null));
+        }
+        return columns.toArray(new Column[0]);
+    }
+
+    private void checkLimits() {
+        if (this._maxRecords < 0 && this._maxDuration == null) {
+            throw new MockeyJockeyException("One of records or maxDuration must be set", this.getClass().getName(), null);
+        }
+    }
+
+    // writes into files, returns the number of records written
+    public long write() {
+        this.checkLimits();
+        this.reset();
+        Column[] columns = this.resolveColumns();
+        boolean direct = ( this._compression == Compression.NONE );
+        Batch batch = new Batch(columns, new Utf8Buffer(this._bufferSize, direct));
+        while (!batch.isDone()) {
+            Path path = this._files.apply(this._filesWritten.size());
+            this._filesWritten.add(path);
+            try (
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+            ) {
+                if (direct) {
+                    batch.pump(channel, null, true);
+                } else {
+                    try (
+                        OutputStream out = this._compression.wrap(Channels.newOutputStream(channel), this._compressionLevel, this._bufferSize)
+                    ) {
+                        batch.pump(null, out, true);
+                    }
+                }
+            } catch (IOException e) {
+                throw new MockeyJockeyException("Could not write " + path, e, this.getClass().getName(), path.toString());
+            }
+        }
+        return this._recordsWritten;
+    }
+
+    // writes everything into the given channel, there is no rollover and the channel is left open
+    public long write(WritableByteChannel channel) {
+        this.checkLimits();
+        this.reset();
+        try {
+            new Batch(this.resolveColumns(), new Utf8Buffer(this._bufferSize, true)).pump(channel, null, false);
+        } catch (IOException e) {
+            throw new MockeyJockeyException(e, this.getClass().getName(), null);
+        }
+        return this._recordsWritten;
+    }
+
+    // writes everything into the given stream, there is no rollover and the stream is left open
+    public long write(OutputStream out) {
+        this.checkLimits();
+        this.reset();
+        try {
+            new Batch(this.resolveColumns(), new Utf8Buffer(this._bufferSize, false)).pump(null, out, false);
+            out.flush();
+        } catch (IOException e) {
+            throw new MockeyJockeyException(e, this.getClass().getName(), null);
+        }
+        return this._recordsWritten;
+    }
+
+    private void reset() {
+        this._recordsWritten = 0;
+        this._bytesWritten = 0;
+        this._filesWritten = new ArrayList<>();
+    }
+
+    // state of one write() call, it outlives the files it is written into
+    private class Batch {
+
+        final Column[] columns;
+        final Utf8Buffer buffer;
+        final long start = System.nanoTime();
+        final long maxNanos;
+        final long maxRecords;
+
+        Batch(Column[] columns, Utf8Buffer buffer) {
+            this.columns = columns;
+            this.buffer = buffer;
+            this.maxNanos = ( DelimitedSink.this._maxDuration == null ) ? Long.MAX_VALUE : DelimitedSink.this._maxDuration.toNanos();
+            this.maxRecords = ( DelimitedSink.this._maxRecords < 0 ) ? Long.MAX_VALUE : DelimitedSink.this._maxRecords;
+        }
+
+        boolean isDone() {
+            return DelimitedSink.this._recordsWritten >= this.maxRecords
+                || ( this.maxNanos != Long.MAX_VALUE && System.nanoTime() - this.start >= this.maxNanos );
+        }
+
+        void pump(WritableByteChannel channel, OutputStream out, boolean rollover) throws IOException {
+            long maxLines = ( rollover && DelimitedSink.this._maxLinesPerFile > 0 ) ? DelimitedSink.this._maxLinesPerFile : Long.MAX_VALUE;
+            long maxBytes = ( rollover && DelimitedSink.this._maxBytesPerFile > 0 ) ? DelimitedSink.this._maxBytesPerFile : Long.MAX_VALUE;
+            long lines = 0;
+            long bytes = 0;
+
+            if (DelimitedSink.this._header) {
+                int lineStart = this.buffer.size();
+                this.writeHeader();
+                bytes += this.buffer.size() - lineStart;
+            }
+            while (lines < maxLines && bytes < maxBytes && !this.isDone()) {
+                int lineStart = this.buffer.size();
+                this.writeLine(DelimitedSink.this._source.get());
+                bytes += this.buffer.size() - lineStart;
+                lines++;
+                DelimitedSink.this._recordsWritten++;
+
+                if (this.buffer.size() >= DelimitedSink.this._bufferSize) {
+                    this.flush(channel, out);
+                }
+            }
+            DelimitedSink.this._bytesWritten += bytes;
+            this.flush(channel, out);
+        }
+
+        private void flush(WritableByteChannel channel, OutputStream out) throws IOException {
+            if (this.buffer.size() == 0) {
+                return;
+            }
+            if (channel != null) {
+                this.buffer.writeTo(channel);
+            } else {
+                this.buffer.writeTo(out);
+            }
+        }
+
+        private void writeHeader() {
+            for (int i = 0; i < this.columns.length; i++) {
+                if (i > 0) {
+                    this.buffer.put(DelimitedSink.this._delimiter);
+                }
+                DelimitedSink.this.writeText(this.columns[i].name, this.buffer);
+            }
+            this.buffer.put(DelimitedSink.this._lineSeparator);
+        }
+
+        private void writeLine(GenericObject record) {
+            for (int i = 0; i < this.columns.length; i++) {
+                if (i > 0) {
+                    this.buffer.put(DelimitedSink.this._delimiter);
+                }
+                Column column = this.columns[i];
+                Object value = ( column.value == null ) ? record.get(column.name) : column.value.apply(record);
+                DelimitedSink.this.writeValue(value, this.buffer);
+            }
+            this.buffer.put(DelimitedSink.this._lineSeparator);
+        }
+
+    }
+
+    private void writeValue(Object value, Utf8Buffer out) {
+        if (value == null) {
+            out.put(this._nullValue);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            this.writeNumber(( (Number) value ).longValue(), out);
+        } else if (value instanceof Double) {
+            this.writeNumber((Double) value, out);
+        } else if (value instanceof CharSequence) {
+            this.writeText((CharSequence) value, out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            this.writeUnquoted(value.toString(), out);
+        } else {
+            this.writeText(value.toString(), out);
+        }
+    }
+
+    private void writeNumber(long value, Utf8Buffer out) {
+        if (this._quoting == Quoting.ALL) {
+            out.put(this._quote).putLong(value).put(this._quote);
+        } else {
+            out.putLong(value);
+        }
+    }
+
+    private void writeNumber(double value, Utf8Buffer out) {
+        if (this._quoting == Quoting.ALL) {
+            out.put(this._quote).putDouble(value).put(this._quote);
+        } else {
+            out.putDouble(value);
+        }
+    }
+
+    private void writeUnquoted(String value, Utf8Buffer out) {
+        if (this._quoting == Quoting.ALL) {
+            out.put(this._quote).putAscii(value).put(this._quote);
+        } else {
+            out.putAscii(value);
+        }
+    }
+
+    private boolean isSpecial(char c) {
+        return c == this._delimiter || c == this._quote || c == this._escape || c == '\n' || c == '\r';
+    }
+
+    private void writeText(CharSequence value, Utf8Buffer out) {
+        int length = value.length();
+        boolean quoted;
+        switch (this._quoting) {
+            case ALL:
+            case NON_NUMERIC:
+                quoted = true;
+                break;
+            case MINIMAL:
+                quoted = false;
+                for (int i = 0; i < length && !quoted; i++) {
+                    quoted = this.isSpecial(value.charAt(i));
+                }
+                break;
+            default:
+                quoted = false;
+        }
+
+        if (quoted) {
+            out.put(this._quote);
+        }
+        int last = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            // inside quotes only the quote and the escape itself need escaping, without quotes every special character
+            boolean escaped = quoted ? ( c == this._quote || c == this._escape ) : ( this._escape >= 0 && this.isSpecial(c) );
+            if (!escaped) {
+                continue;
+            }
+            if (last < i) {
+                out.append(value, last, i);
+            }
+            out.put(( this._escape >= 0 ) ? (byte) this._escape : this._quote);
+            out.append(c);
+            last = i + 1;
+        }
+        if (last < length) {
+            out.append(value, last, length);
+        }
+        if (quoted) {
+            out.put(this._quote);
+        }
+    }
+
+}
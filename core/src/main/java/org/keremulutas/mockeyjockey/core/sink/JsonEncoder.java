@@ -0,0 +1,330 @@
+package org.keremulutas.mockeyjockey.core.sink;
+
+import com.google.gson.annotations.SerializedName;
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+import org.keremulutas.mockeyjockey.core.generator.Generator;
+import org.keremulutas.mockeyjockey.core.generator.GenericObjectGenerator;
+import org.keremulutas.mockeyjockey.core.generator.ObjectGenerator;
+import org.keremulutas.mockeyjockey.core.type.GenericObject;
+import org.keremulutas.mockeyjockey.utils.Utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+// schema aware json encoders, the keys are escaped and encoded once and the values are written straight into the
+// buffer. the output is the one of Utils.gson, values of types which are not known here are still written by gson
+public class JsonEncoder {
+
+    private static final String[] REPLACEMENT_CHARS = new String[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            REPLACEMENT_CHARS[i] = String.format("\\u%04x", i);
+        }
+        REPLACEMENT_CHARS['"'] = "\\\"";
+        REPLACEMENT_CHARS['\\'] = "\\\\";
+        REPLACEMENT_CHARS['\t'] = "\\t";
+        REPLACEMENT_CHARS['\b'] = "\\b";
+        REPLACEMENT_CHARS['\n'] = "\\n";
+        REPLACEMENT_CHARS['\r'] = "\\r";
+        REPLACEMENT_CHARS['\f'] = "\\f";
+    }
+
+    private JsonEncoder() {
+    }
+
+    public static RecordEncoder<GenericObject> forGenericObjects(GenericObjectGenerator generator) {
+        return new GenericObjectEncoder(generator.getFieldGenerators());
+    }
+
+    public static <T> RecordEncoder<T> forBeans(ObjectGenerator.Reflection<T> generator) {
+        return forBeans(generator.getTargetObjectClass());
+    }
+
+    public static <T> RecordEncoder<T> forBeans(Class<T> clz) {
+        return new BeanEncoder<>(clz, new HashMap<>());
+    }
+
+    private interface ValueWriter {
+        void write(Object value, Utf8Buffer out) throws Throwable;
+    }
+
+    private static byte[] keyBytes(String key, boolean first) {
+        Utf8Buffer buffer = new Utf8Buffer(key.length() + 4, false);
+        buffer.put((byte) ( first ? '{' : ',' ));
+        writeString(key, buffer);
+        buffer.put((byte) ':');
+        return buffer.toByteArray();
+    }
+
+    // escapes like gson with html escaping disabled
+    static void writeString(CharSequence s, Utf8Buffer out) {
+        out.put((byte) '"');
+        int last = 0;
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            String replacement;
+            if (c < 128) {
+                replacement = REPLACEMENT_CHARS[c];
+                if (replacement == null) {
+                    continue;
+                }
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if (last < i) {
+                out.append(s, last, i);
+            }
+            out.putAscii(replacement);
+            last = i + 1;
+        }
+        if (last < length) {
+            out.append(s, last, length);
+        }
+        out.put((byte) '"');
+    }
+
+    private static void writeDouble(double value, Utf8Buffer out) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(value + " is not a valid double value as per JSON specification.");
+        }
+        out.putDouble(value);
+    }
+
+    static void writeValue(Object value, Utf8Buffer out) {
+        if (value == null) {
+            out.putAscii("null");
+        } else if (value instanceof String) {
+            writeString((String) value, out);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            out.putLong(( (Number) value ).longValue());
+        } else if (value instanceof Double) {
+            writeDouble((Double) value, out);
+        } else if (value instanceof Boolean) {
+            out.putAscii(value.toString());
+        } else if (value instanceof ZonedDateTime) {
+            out.putLong(( (ZonedDateTime) value ).toInstant().toEpochMilli());
+        } else {
+            Utils.gson.toJson(value, out);
+        }
+    }
+
+    // plain classes of the application, everything else is left to gson and its type adapters
+    private static boolean isBean(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.isInterface()
+            && !Modifier.isAbstract(type.getModifiers())
+            && !type.getName().startsWith("java.")
+            && !Map.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type);
+    }
+
+    // picks the writer for the declared type, values of another runtime type go through writeValue
+    private static ValueWriter valueWriter(Class<?> type) {
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class
+            || type == short.class || type == Short.class || type == byte.class || type == Byte.class) {
+            return (value, out) -> {
+                if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                    out.putLong(( (Number) value ).longValue());
+                } else {
+                    writeValue(value, out);
+                }
+            };
+        } else if (type == double.class || type == Double.class) {
+            return (value, out) -> {
+                if (value instanceof Double) {
+                    writeDouble((Double) value, out);
+                } else {
+                    writeValue(value, out);
+                }
+            };
+        } else if (type == String.class) {
+            return (value, out) -> {
+                if (value instanceof String) {
+                    writeString((String) value, out);
+                } else {
+                    writeValue(value, out);
+                }
+            };
+        } else if (type == ZonedDateTime.class) {
+            return (value, out) -> {
+                if (value instanceof ZonedDateTime) {
+                    out.putLong(( (ZonedDateTime) value ).toInstant().toEpochMilli());
+                } else {
+                    writeValue(value, out);
+                }
+            };
+        } else if (isBean(type)) {
+            return new BeanEncoder<>(type, new HashMap<>())::encodeValue;
+        }
+        return JsonEncoder::writeValue;
+    }
+
+    private static class GenericObjectEncoder implements RecordEncoder<GenericObject> {
+
+        private final String[] _keys;
+        private final byte[][] _keyBytes;
+        private final ValueWriter[] _writers;
+
+        GenericObjectEncoder(Map<String, Generator<?, ?>> fieldGenerators) {
+            int size = fieldGenerators.size();
+            this._keys = new String[size];
+            this._keyBytes = new byte[size][];
+            this._writers = new ValueWriter[size];
+            int i = 0;
+            for (Map.Entry<String, Generator<?, ?>> entry : fieldGenerators.entrySet()) {
+                this._keys[i] = entry.getKey();
+                this._keyBytes[i] = keyBytes(entry.getKey(), i == 0);
+                this._writers[i] = valueWriter(entry.getValue().getTargetObjectClass());
+                i++;
+            }
+        }
+
+        @Override
+        public void encode(GenericObject record, Utf8Buffer out) {
+            // mutators may have changed the fields, such records are written by gson
+            if (record == null || record.size() != this._keys.length || this._keys.length == 0) {
+                Utils.gson.toJson(record, out);
+                return;
+            }
+            int start = out.size();
+            try {
+                for (int i = 0; i < this._keys.length; i++) {
+                    Object value = record.get(this._keys[i]);
+                    if (value == null && !record.containsKey(this._keys[i])) {
+                        out.truncate(start);
+                        Utils.gson.toJson(record, out);
+                        return;
+                    }
+                    out.put(this._keyBytes[i]);
+                    this._writers[i].write(value, out);
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new MockeyJockeyException(throwable, this.getClass().getName(), null);
+            }
+            out.put((byte) '}');
+        }
+
+    }
+
+    // encodes the fields gson would serialize, in the same order: declared fields of the class first, then the ones
+    // of its super classes, static and transient fields are skipped
+    private static class BeanEncoder<T> implements RecordEncoder<T> {
+
+        private interface FieldWriter {
+            void write(Object bean, Utf8Buffer out) throws Throwable;
+        }
+
+        private final Class<T> _beanClass;
+        private final byte[][] _keyBytes;
+        private final FieldWriter[] _writers;
+
+        BeanEncoder(Class<T> clz, Map<Class<?>, BeanEncoder<?>> encoders) {
+            this._beanClass = clz;
+            encoders.put(clz, this);
+
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> raw = clz; raw != null && raw != Object.class; raw = raw.getSuperclass()) {
+                for (Field field : raw.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                        fields.add(field);
+                    }
+                }
+            }
+
+            this._keyBytes = new byte[fields.size()][];
+            this._writers = new FieldWriter[fields.size()];
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                String name = ( serializedName != null ) ? serializedName.value() : field.getName();
+                this._keyBytes[i] = keyBytes(name, i == 0);
+                try {
+                    field.setAccessible(true);
+                    this._writers[i] = fieldWriter(field, MethodHandles.lookup().unreflectGetter(field), encoders);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new MockeyJockeyException("Could not access field: " + field.getName(), e, this.getClass().getName(), clz.getName());
+                }
+            }
+        }
+
+        private static FieldWriter fieldWriter(Field field, MethodHandle getter, Map<Class<?>, BeanEncoder<?>> encoders) {
+            Class<?> type = field.getType();
+            if (type == int.class || type == long.class || type == short.class || type == byte.class) {
+                MethodHandle longGetter = getter.asType(MethodType.methodType(long.class, Object.class));
+                return (bean, out) -> out.putLong((long) longGetter.invokeExact(bean));
+            } else if (type == double.class) {
+                MethodHandle doubleGetter = getter.asType(MethodType.methodType(double.class, Object.class));
+                return (bean, out) -> writeDouble((double) doubleGetter.invokeExact(bean), out);
+            } else if (type == float.class) {
+                MethodHandle floatGetter = getter.asType(MethodType.methodType(float.class, Object.class));
+                return (bean, out) -> {
+                    float value = (float) floatGetter.invokeExact(bean);
+                    if (Float.isNaN(value) || Float.isInfinite(value)) {
+                        throw new IllegalArgumentException(value + " is not a valid double value as per JSON specification.");
+                    }
+                    out.putAscii(Float.toString(value));
+                };
+            } else if (type == boolean.class) {
+                MethodHandle booleanGetter = getter.asType(MethodType.methodType(boolean.class, Object.class));
+                return (bean, out) -> out.putAscii((boolean) booleanGetter.invokeExact(bean) ? "true" : "false");
+            }
+
+            MethodHandle objectGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+            ValueWriter valueWriter;
+            if (isBean(type)) {
+                // nested beans get their own encoder, types which refer to themselves are left to gson
+                valueWriter = encoders.containsKey(type) ? JsonEncoder::writeValue : new BeanEncoder<>(type, encoders)::encodeValue;
+            } else {
+                valueWriter = ( type == char.class ) ? JsonEncoder::writeValue : valueWriter(type);
+            }
+            return (bean, out) -> valueWriter.write(objectGetter.invokeExact(bean), out);
+        }
+
+        private void encodeValue(Object value, Utf8Buffer out) throws Throwable {
+            if (value == null) {
+                out.putAscii("null");
+            } else if (value.getClass() != this._beanClass) {
+                Utils.gson.toJson(value, out);
+            } else {
+                this.encodeFields(value, out);
+            }
+        }
+
+        private void encodeFields(Object bean, Utf8Buffer out) throws Throwable {
+            if (this._writers.length == 0) {
+                out.putAscii("{}");
+                return;
+            }
+            for (int i = 0; i < this._writers.length; i++) {
+                out.put(this._keyBytes[i]);
+                this._writers[i].write(bean, out);
+            }
+            out.put((byte) '}');
+        }
+
+        @Override
+        public void encode(T record, Utf8Buffer out) {
+            try {
+                this.encodeValue(record, out);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new MockeyJockeyException(throwable, this.getClass().getName(), this._beanClass.getName());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,189 @@
+package org.keremulutas.mockeyjockey.core.sink;
+
+import org.keremulutas.mockeyjockey.core.exception.MockeyJockeyException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+
+// pulls records from a generator and writes them as newline delimited json, only one batch of encoded records is held
+// in memory at a time
+public class NdjsonSink<T> {
+
+    private static final byte NEWLINE = '\n';
+
+    private final Supplier<T> _source;
+    private final Path _path;
+    private RecordEncoder<? super T> _encoder = RecordEncoder.gson();
+    private long _maxRecords = -1;
+    private long _maxBytes = -1;
+    private Duration _maxDuration;
+    private Compression _compression = Compression.NONE;
+    private int _compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int _bufferSize = 1 << 20;
+    private Path _teePath;
+    private Compression _teeCompression = Compression.NONE;
+
+    private long _recordsWritten;
+    private long _bytesWritten;
+
+    public NdjsonSink(Supplier<T> source, Path path) {
+        this._source = source;
+        this._path = path;
+    }
+
+    public NdjsonSink(Supplier<T> source, String file) {
+        this(source, Paths.get(file));
+    }
+
+    public NdjsonSink<T> records(long maxRecords) {
+        this._maxRecords = maxRecords;
+        return this;
+    }
+
+    // counts the uncompressed bytes, the record which crosses the limit is still written
+    public NdjsonSink<T> maxBytes(long maxBytes) {
+        this._maxBytes = maxBytes;
+        return this;
+    }
+
+    public NdjsonSink<T> maxDuration(Duration maxDuration) {
+        this._maxDuration = maxDuration;
+        return this;
+    }
+
+    public NdjsonSink<T> encoder(RecordEncoder<? super T> encoder) {
+        this._encoder = encoder;
+        return this;
+    }
+
+    public NdjsonSink<T> compression(Compression compression) {
+        this._compression = compression;
+        return this;
+    }
+
+    public NdjsonSink<T> compression(Compression compression, int level) {
+        this._compression = compression;
+        this._compressionLevel = level;
+        return this;
+    }
+
+    // writes the same records to a second file as well, every record is encoded once and written to both
+    public NdjsonSink<T> tee(Path path, Compression compression) {
+        this._teePath = path;
+        this._teeCompression = compression;
+        return this;
+    }
+
+    public NdjsonSink<T> tee(String file, Compression compression) {
+        return this.tee(Paths.get(file), compression);
+    }
+
+    // records are flushed once this many bytes are encoded
+    public NdjsonSink<T> bufferSize(int bufferSize) {
+        this._bufferSize = bufferSize;
+        return this;
+    }
+
+    public long getRecordsWritten() {
+        return this._recordsWritten;
+    }
+
+    public long getBytesWritten() {
+        return this._bytesWritten;
+    }
+
+    // returns the number of records written
+    public long write() {
+        if (this._maxRecords < 0 && this._maxBytes < 0 && this._maxDuration == null) {
+            throw new MockeyJockeyException("One of records, maxBytes or maxDuration must be set", this.getClass().getName(), this._path.toString());
+        }
+        this._recordsWritten = 0;
+        this._bytesWritten = 0;
+        // null resources (no tee, no compression) are skipped when closing
+        try (
+            FileChannel channel = open(this._path);
+            OutputStream out = this.wrap(channel, this._compression);
+            FileChannel teeChannel = ( this._teePath == null ) ? null : open(this._teePath);
+            OutputStream teeOut = ( teeChannel == null ) ? null : this.wrap(teeChannel, this._teeCompression)
+        ) {
+            // channels are written from a direct buffer, compressing streams from a heap buffer
+            Utf8Buffer buffer = new Utf8Buffer(this._bufferSize, out == null && teeOut == null);
+            this.pump(buffer, new Output(channel, out), ( teeChannel == null ) ? null : new Output(teeChannel, teeOut));
+        } catch (IOException e) {
+            throw new MockeyJockeyException("Could not write " + this._path, e, this.getClass().getName(), this._path.toString());
+        }
+        return this._recordsWritten;
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private OutputStream wrap(FileChannel channel, Compression compression) throws IOException {
+        if (compression == Compression.NONE) {
+            return null;
+        }
+        return compression.wrap(Channels.newOutputStream(channel), this._compressionLevel, this._bufferSize);
+    }
+
+    private void pump(Utf8Buffer buffer, Output output, Output tee) throws IOException {
+        long start = System.nanoTime();
+        long maxNanos = ( this._maxDuration == null ) ? Long.MAX_VALUE : this._maxDuration.toNanos();
+        long maxRecords = ( this._maxRecords < 0 ) ? Long.MAX_VALUE : this._maxRecords;
+        long maxBytes = ( this._maxBytes < 0 ) ? Long.MAX_VALUE : this._maxBytes;
+
+        while (this._recordsWritten < maxRecords && this._bytesWritten < maxBytes
+            && ( maxNanos == Long.MAX_VALUE || System.nanoTime() - start < maxNanos )) {
+            int recordStart = buffer.size();
+            this._encoder.encode(this._source.get(), buffer);
+            buffer.put(NEWLINE);
+            this._bytesWritten += buffer.size() - recordStart;
+            this._recordsWritten++;
+
+            if (buffer.size() >= this._bufferSize) {
+                this.flush(buffer, output, tee);
+            }
+        }
+        if (buffer.size() > 0) {
+            this.flush(buffer, output, tee);
+        }
+    }
+
+    private void flush(Utf8Buffer buffer, Output output, Output tee) throws IOException {
+        output.copy(buffer);
+        if (tee != null) {
+            tee.copy(buffer);
+        }
+        buffer.clear();
+    }
+
+    // a file channel, written through the compressing stream if there is one
+    private static class Output {
+
+        private final FileChannel _channel;
+        private final OutputStream _out;
+
+        Output(FileChannel channel, OutputStream out) {
+            this._channel = channel;
+            this._out = out;
+        }
+
+        void copy(Utf8Buffer buffer) throws IOException {
+            if (this._out != null) {
+                buffer.copyTo(this._out);
+            } else {
+                buffer.copyTo(this._channel);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.keremulutas.mockeyjockey.core.sink;
+
+import org.keremulutas.mockeyjockey.utils.Utils;
+
+// writes a single record into the buffer of a sink, without the record separator
+@FunctionalInterface
+public interface RecordEncoder<T> {
+
+    void encode(T record, Utf8Buffer out);
+
+    // gson writes its chars straight into the buffer, no intermediate String is created
+    static <T> RecordEncoder<T> gson() {
+        return (record, out) -> Utils.gson.toJson(record, out);
+    }
+
+}
@@ -0,0 +1,240 @@
+package org.keremulutas.mockeyjockey.core.sink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// growable byte buffer which encodes chars as UTF-8 while they are appended, records are encoded straight into it
+// and the buffer is written out in batches
+public class Utf8Buffer implements Appendable {
+
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes();
+
+    private final boolean _direct;
+    private ByteBuffer _buffer;
+    // a high surrogate whose low surrogate has not been appended yet
+    private char _pendingHighSurrogate = 0;
+
+    public Utf8Buffer(int capacity, boolean direct) {
+        this._direct = direct;
+        this._buffer = this.allocate(capacity);
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return this._direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private void ensureRemaining(int n) {
+        if (this._buffer.remaining() < n) {
+            ByteBuffer grown = this.allocate(Math.max(this._buffer.capacity() * 2, this._buffer.position() + n));
+            this._buffer.flip();
+            grown.put(this._buffer);
+            this._buffer = grown;
+        }
+    }
+
+    public int size() {
+        return this._buffer.position();
+    }
+
+    // drops everything appended after the given size, e.g. a partially encoded record
+    public void truncate(int size) {
+        this._buffer.position(size);
+        this._pendingHighSurrogate = 0;
+    }
+
+    public void clear() {
+        this._buffer.clear();
+        this._pendingHighSurrogate = 0;
+    }
+
+    // a high surrogate still pending when raw bytes follow did not get its low surrogate, it is replaced before them
+    private void flushPendingSurrogate() {
+        if (this._pendingHighSurrogate != 0) {
+            this._pendingHighSurrogate = 0;
+            this.ensureRemaining(1);
+            this._buffer.put((byte) '?');
+        }
+    }
+
+    public Utf8Buffer put(byte b) {
+        this.flushPendingSurrogate();
+        this.ensureRemaining(1);
+        this._buffer.put(b);
+        return this;
+    }
+
+    public Utf8Buffer put(byte[] bytes) {
+        return this.put(bytes, 0, bytes.length);
+    }
+
+    public Utf8Buffer put(byte[] bytes, int offset, int length) {
+        this.flushPendingSurrogate();
+        this.ensureRemaining(length);
+        this._buffer.put(bytes, offset, length);
+        return this;
+    }
+
+    // for strings which are known to contain only ASCII chars, e.g. numbers
+    public Utf8Buffer putAscii(String s) {
+        this.flushPendingSurrogate();
+        int length = s.length();
+        this.ensureRemaining(length);
+        for (int i = 0; i < length; i++) {
+            this._buffer.put((byte) s.charAt(i));
+        }
+        return this;
+    }
+
+    public Utf8Buffer putInt(int value) {
+        return this.putLong(value);
+    }
+
+    // digits are written in place, no String is created
+    public Utf8Buffer putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return this.put(MIN_LONG);
+        }
+        this.flushPendingSurrogate();
+        this.ensureRemaining(20);
+        if (value < 0) {
+            this._buffer.put((byte) '-');
+            value = -value;
+        }
+        int start = this._buffer.position();
+        int end = start + stringSize(value);
+        for (int i = end - 1; i >= start; i--) {
+            this._buffer.put(i, (byte) ( '0' + value % 10 ));
+            value /= 10;
+        }
+        this._buffer.position(end);
+        return this;
+    }
+
+    public Utf8Buffer putDouble(double value) {
+        return this.putAscii(Double.toString(value));
+    }
+
+    private static int stringSize(long x) {
+        long p = 10;
+        for (int i = 1; i < 19; i++) {
+            if (x < p) {
+                return i;
+            }
+            p = 10 * p;
+        }
+        return 19;
+    }
+
+    @Override
+    public Utf8Buffer append(CharSequence csq) {
+        if (csq == null) {
+            return this.putAscii("null");
+        }
+        return this.append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Utf8Buffer append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return this.append("null", start, end);
+        }
+        // worst case of 3 bytes per char, surrogate pairs take 4 bytes for 2 chars. a high surrogate pending from the
+        // last call makes the first char take one more byte
+        this.ensureRemaining(( end - start ) * 3 + ( ( this._pendingHighSurrogate != 0 ) ? 1 : 0 ));
+        for (int i = start; i < end; i++) {
+            char c = csq.charAt(i);
+            if (c < 0x80 && this._pendingHighSurrogate == 0) {
+                this._buffer.put((byte) c);
+            } else {
+                this.encode(c);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8Buffer append(char c) {
+        this.ensureRemaining(4);
+        this.encode(c);
+        return this;
+    }
+
+    private void encode(char c) {
+        if (this._pendingHighSurrogate != 0) {
+            char high = this._pendingHighSurrogate;
+            this._pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                this._buffer.put((byte) ( 0xf0 | ( codePoint >> 18 ) ));
+                this._buffer.put((byte) ( 0x80 | ( ( codePoint >> 12 ) & 0x3f ) ));
+                this._buffer.put((byte) ( 0x80 | ( ( codePoint >> 6 ) & 0x3f ) ));
+                this._buffer.put((byte) ( 0x80 | ( codePoint & 0x3f ) ));
+                return;
+            }
+            // a lone high surrogate, replaced like String.getBytes() does
+            this._buffer.put((byte) '?');
+        }
+        if (c < 0x80) {
+            this._buffer.put((byte) c);
+        } else if (c < 0x800) {
+            this._buffer.put((byte) ( 0xc0 | ( c >> 6 ) ));
+            this._buffer.put((byte) ( 0x80 | ( c & 0x3f ) ));
+        } else if (Character.isHighSurrogate(c)) {
+            this._pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            this._buffer.put((byte) '?');
+        } else {
+            this._buffer.put((byte) ( 0xe0 | ( c >> 12 ) ));
+            this._buffer.put((byte) ( 0x80 | ( ( c >> 6 ) & 0x3f ) ));
+            this._buffer.put((byte) ( 0x80 | ( c & 0x3f ) ));
+        }
+    }
+
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        this.copyTo(channel);
+        this._buffer.clear();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        this.copyTo(out);
+        this._buffer.clear();
+    }
+
+    // writes the content without clearing it, e.g. to write the same records to more than one output
+    public void copyTo(WritableByteChannel channel) throws IOException {
+        this.flushPendingSurrogate();
+        ByteBuffer view = this._buffer.duplicate();
+        view.flip();
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+
+    public void copyTo(OutputStream out) throws IOException {
+        this.flushPendingSurrogate();
+        if (this._buffer.hasArray()) {
+            out.write(this._buffer.array(), this._buffer.arrayOffset(), this._buffer.position());
+            return;
+        }
+        ByteBuffer view = this._buffer.duplicate();
+        view.flip();
+        byte[] chunk = new byte[Math.min(view.remaining(), 8192)];
+        while (view.hasRemaining()) {
+            int length = Math.min(chunk.length, view.remaining());
+            view.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    public byte[] toByteArray() {
+        this.flushPendingSurrogate();
+        byte[] result = new byte[this._buffer.position()];
+        ByteBuffer view = this._buffer.duplicate();
+        view.flip();
+        view.get(result);
+        return result;
+    }
+
+}
@@ -1,10 +1,11 @@
 package org.keremulutas.mockeyjockey.core.type;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-public class GenericObject extends HashMap<String, Object> {
+// keeps the fields in the order they were generated, which is the order they are serialized in
+public class GenericObject extends LinkedHashMap<String, Object> {
 
     private void checkKeyExists(String key) {
         if (!this.containsKey(key)) {
@@ -0,0 +1,223 @@
+package org.keremulutas.mockeyjockey.core.type;
+
+import org.keremulutas.mockeyjockey.core.random.RandomSource;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+// a map which can return a random entry in O(1). keys and values are kept in dense arrays, a hash map points every key
+// at its slot and a removed entry is replaced by the last one. updates take a write lock, random reads are optimistic
+// and only fall back to the read lock if an update ran meanwhile. like ConcurrentHashMap, keys and values can not be null
+public class IndexedConcurrentMap<K, V> {
+
+    private final StampedLock _lock = new StampedLock();
+    private final HashMap<K, Integer> _slots;
+    private Object[] _keys;
+    private Object[] _values;
+    private int _size = 0;
+
+    public IndexedConcurrentMap() {
+        this(16);
+    }
+
+    public IndexedConcurrentMap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this._slots = new HashMap<>(capacity * 4 / 3 + 1);
+        this._keys = new Object[capacity];
+        this._values = new Object[capacity];
+    }
+
+    public IndexedConcurrentMap(Map<? extends K, ? extends V> map) {
+        this(map.size());
+        this.putAll(map);
+    }
+
+    public V put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        long stamp = this._lock.writeLock();
+        try {
+            return this.putLocked(key, value, false);
+        } finally {
+            this._lock.unlockWrite(stamp);
+        }
+    }
+
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        long stamp = this._lock.writeLock();
+        try {
+            return this.putLocked(key, value, true);
+        } finally {
+            this._lock.unlockWrite(stamp);
+        }
+    }
+
+    public void putAll(Map<? extends K, ? extends V> map) {
+        long stamp = this._lock.writeLock();
+        try {
+            for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                this.putLocked(Objects.requireNonNull(entry.getKey()), Objects.requireNonNull(entry.getValue()), false);
+            }
+        } finally {
+            this._lock.unlockWrite(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V putLocked(K key, V value, boolean onlyIfAbsent) {
+        Integer slot = this._slots.get(key);
+        if (slot != null) {
+            V previous = (V) this._values[slot];
+            if (!onlyIfAbsent) {
+                this._values[slot] = value;
+            }
+            return previous;
+        }
+        if (this._size == this._keys.length) {
+            int capacity = this._keys.length * 2;
+            this._keys = Arrays.copyOf(this._keys, capacity);
+            this._values = Arrays.copyOf(this._values, capacity);
+        }
+        this._keys[this._size] = key;
+        this._values[this._size] = value;
+        this._slots.put(key, this._size);
+        this._size++;
+        return null;
+    }
+
+    public V remove(Object key) {
+        long stamp = this._lock.writeLock();
+        try {
+            Integer slot = this._slots.get(key);
+            return ( slot == null ) ? null : this.removeLocked(slot);
+        } finally {
+            this._lock.unlockWrite(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeLocked(int slot) {
+        V value = (V) this._values[slot];
+        this._slots.remove(this._keys[slot]);
+        int last = --this._size;
+        if (slot != last) {
+            this._keys[slot] = this._keys[last];
+            this._values[slot] = this._values[last];
+            this._slots.put((K) this._keys[slot], slot);
+        }
+        this._keys[last] = null;
+        this._values[last] = null;
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        long stamp = this._lock.readLock();
+        try {
+            Integer slot = this._slots.get(key);
+            return ( slot == null ) ? null : (V) this._values[slot];
+        } finally {
+            this._lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(Object key) {
+        return this.get(key) != null;
+    }
+
+    public int size() {
+        long stamp = this._lock.tryOptimisticRead();
+        int size = this._size;
+        if (this._lock.validate(stamp)) {
+            return size;
+        }
+        stamp = this._lock.readLock();
+        try {
+            return this._size;
+        } finally {
+            this._lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    public void clear() {
+        long stamp = this._lock.writeLock();
+        try {
+            this._slots.clear();
+            Arrays.fill(this._keys, 0, this._size, null);
+            Arrays.fill(this._values, 0, this._size, null);
+            this._size = 0;
+        } finally {
+            this._lock.unlockWrite(stamp);
+        }
+    }
+
+    // a random value, null if the map is empty
+    @SuppressWarnings("unchecked")
+    public V randomValue(RandomSource randomizer) {
+        long stamp = this._lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] values = this._values;
+            int size = Math.min(this._size, values.length);
+            Object value = ( size > 0 ) ? values[randomizer.nextInt(size)] : null;
+            if (this._lock.validate(stamp)) {
+                return (V) value;
+            }
+        }
+        stamp = this._lock.readLock();
+        try {
+            return ( this._size > 0 ) ? (V) this._values[randomizer.nextInt(this._size)] : null;
+        } finally {
+            this._lock.unlockRead(stamp);
+        }
+    }
+
+    // a random key, null if the map is empty
+    @SuppressWarnings("unchecked")
+    public K randomKey(RandomSource randomizer) {
+        long stamp = this._lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] keys = this._keys;
+            int size = Math.min(this._size, keys.length);
+            Object key = ( size > 0 ) ? keys[randomizer.nextInt(size)] : null;
+            if (this._lock.validate(stamp)) {
+                return (K) key;
+            }
+        }
+        stamp = this._lock.readLock();
+        try {
+            return ( this._size > 0 ) ? (K) this._keys[randomizer.nextInt(this._size)] : null;
+        } finally {
+            this._lock.unlockRead(stamp);
+        }
+    }
+
+    // removes a random entry and returns its value, null if the map is empty
+    public V removeRandomValue(RandomSource randomizer) {
+        long stamp = this._lock.writeLock();
+        try {
+            return ( this._size > 0 ) ? this.removeLocked(randomizer.nextInt(this._size)) : null;
+        } finally {
+            this._lock.unlockWrite(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        long stamp = this._lock.readLock();
+        try {
+            for (int i = 0; i < this._size; i++) {
+                action.accept((K) this._keys[i], (V) this._values[i]);
+            }
+        } finally {
+            this._lock.unlockRead(stamp);
+        }
+    }
+
+}
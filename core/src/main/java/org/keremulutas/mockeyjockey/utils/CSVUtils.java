@@ -2,25 +2,43 @@ package org.keremulutas.mockeyjockey.utils;
 
 import java.util.Collection;
 
+// see DelimitedSink for writing whole files, this one renders a single line
 public class CSVUtils {
 
     private static final char DEFAULT_SEPARATOR = ',';
     private static final char DEFAULT_QUOTE = '"';
 
     public static String getLine(Collection<Object> values) {
+        return getLine(values, DEFAULT_SEPARATOR, DEFAULT_QUOTE);
+    }
+
+    // numbers are written as they are, other values are quoted with the quotes in them doubled. null values are
+    // written as empty fields so that the columns stay aligned
+    public static String getLine(Collection<Object> values, char separator, char quote) {
         boolean first = true;
         StringBuilder sb = new StringBuilder();
         for (Object value : values) {
             if (!first) {
-                sb.append(DEFAULT_SEPARATOR);
+                sb.append(separator);
+            }
+            first = false;
+            if (value == null) {
+                continue;
             }
-            if(value == null) continue;
             if (value instanceof Number) {
                 sb.append(value);
             } else {
-                sb.append(DEFAULT_QUOTE).append(value).append(DEFAULT_QUOTE);
+                String s = value.toString();
+                sb.append(quote);
+                for (int i = 0; i < s.length(); i++) {
+                    char c = s.charAt(i);
+                    if (c == quote) {
+                        sb.append(quote);
+                    }
+                    sb.append(c);
+                }
+                sb.append(quote);
             }
-            first = false;
         }
         sb.append("\n");
         return sb.toString();
@@ -29,11 +29,26 @@ public final class Printf {
     private static final String formatSpecifier = "%(\\d+\\$)?([-#+ 0,(\\<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])";
     private static double scaleUp;
     private static Pattern fsPattern = Pattern.compile(formatSpecifier);
+    // marks an argument which is passed in the long[] of format(Object[], long[]) instead of being boxed
+    public static final Object UNBOXED = new Object();
+
+    private static final int SLOW = 0;
+    private static final int FAST_DECIMAL = 1;
+    private static final int FAST_ZERO_PADDED_DECIMAL = 2;
+    private static final int FAST_STRING = 3;
+
     private final Locale locale;
     private final char zero;
-    private Appendable appendable;
     private String format;
     private Printf.FormatString[] fsa;
+    private boolean[] unboxableArgs;
+    // the parsed format is shared, the output of a render belongs to the calling thread
+    private final ThreadLocal<Printf.RenderState> renderState = ThreadLocal.withInitial(Printf.RenderState::new);
+
+    private static class RenderState {
+        Appendable appendable;
+        StringBuilder builder = new StringBuilder();
+    }
 
     public Printf(String format) {
         this(format, Locale.getDefault(Locale.Category.FORMAT));
@@ -44,6 +59,7 @@ public final class Printf {
         this.zero = getZero(locale);
         this.format = format;
         this.fsa = parse(format);
+        this.unboxableArgs = findUnboxableArgs(this.fsa);
     }
 
     private static char getZero(Locale l) {
@@ -70,15 +86,120 @@ public final class Printf {
     }
 
     public Appendable out() {
-        return this.appendable;
+        return this.renderState.get().appendable;
     }
 
     public String toString() {
-        return this.appendable.toString();
+        return this.out().toString();
     }
 
     public String format(Object... args) throws IOException {
-        this.appendable = new StringBuilder();
+        return this.format(args, null);
+    }
+
+    // renders into a builder of the calling thread which is reused across calls, only the result String is allocated
+    public String format(Object[] args, long[] unboxedArgs) throws IOException {
+        Printf.RenderState state = this.renderState.get();
+        StringBuilder builder = state.builder;
+        builder.setLength(0);
+        this.render(state, builder, args, unboxedArgs);
+        return builder.toString();
+    }
+
+    public <A extends Appendable> A formatTo(A appendable, Object... args) throws IOException {
+        return this.formatTo(appendable, args, null);
+    }
+
+    public <A extends Appendable> A formatTo(A appendable, Object[] args, long[] unboxedArgs) throws IOException {
+        this.render(this.renderState.get(), appendable, args, unboxedArgs);
+        return appendable;
+    }
+
+    // true if every specifier referring to the argument prints a decimal integer on the fast path, such an argument
+    // can be passed as UNBOXED with its value in unboxedArgs
+    public boolean acceptsUnboxed(int argIndex) {
+        return argIndex < this.unboxableArgs.length && this.unboxableArgs[argIndex];
+    }
+
+    private static boolean[] findUnboxableArgs(Printf.FormatString[] fsa) {
+        int[] argIndexes = new int[fsa.length];
+        int maxIndex = -1;
+        int last = -1;
+        int lasto = -1;
+        for (int i = 0; i < fsa.length; i++) {
+            int index = fsa[i].index();
+            if (index == -2 || ( index == -1 && last < 0 )) {
+                argIndexes[i] = -1;
+                continue;
+            }
+            if (index == 0) {
+                last = ++lasto;
+            } else if (index > 0) {
+                last = index - 1;
+            }
+            argIndexes[i] = last;
+            maxIndex = Math.max(maxIndex, last);
+        }
+        boolean[] result = new boolean[maxIndex + 1];
+        boolean[] blocked = new boolean[maxIndex + 1];
+        for (int i = 0; i < fsa.length; i++) {
+            int argIndex = argIndexes[i];
+            if (argIndex < 0) {
+                continue;
+            }
+            if (fsa[i].isFastDecimal() && !blocked[argIndex]) {
+                result[argIndex] = true;
+            } else {
+                result[argIndex] = false;
+                blocked[argIndex] = true;
+            }
+        }
+        return result;
+    }
+
+    private static int stringSize(long x) {
+        long p = 10;
+        for (int i = 1; i < 19; i++) {
+            if (x < p) {
+                return i;
+            }
+            p = 10 * p;
+        }
+        return 19;
+    }
+
+    private static void appendDecimal(Appendable out, long value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ( (StringBuilder) out ).append(value);
+        } else {
+            out.append(Long.toString(value));
+        }
+    }
+
+    // the width includes the sign, like the zero padding of localizedMagnitude
+    private static void appendZeroPaddedDecimal(Appendable out, long value, int width) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.append('-');
+            for (int i = 20; i < width; i++) {
+                out.append('0');
+            }
+            out.append("9223372036854775808");
+            return;
+        }
+        boolean neg = value < 0;
+        long magnitude = neg ? -value : value;
+        if (neg) {
+            out.append('-');
+        }
+        for (int i = stringSize(magnitude) + ( neg ? 1 : 0 ); i < width; i++) {
+            out.append('0');
+        }
+        appendDecimal(out, magnitude);
+    }
+
+    private void render(Printf.RenderState state, Appendable out, Object[] args, long[] unboxedArgs) throws IOException {
+        // specifiers which are not on a fast path print into the appendable of the render state
+        state.appendable = out;
 
         // index of last argument referenced
         int last = -1;
@@ -90,13 +211,15 @@ public final class Printf {
             int index = fs.index();
             switch (index) {
                 case -2:  // fixed string, "%n", or "%%"
-                    fs.print(null, this.locale);
+                    if (!fs.printFast(out, null, null, -1)) {
+                        fs.print(null, this.locale);
+                    }
                     break;
                 case -1:  // relative index
                     if (last < 0 || ( args != null && last > args.length - 1 )) {
                         throw new MissingFormatArgumentException(fs.toString());
                     }
-                    fs.print(( args == null ? null : args[last] ), this.locale);
+                    this.print(fs, out, args, unboxedArgs, last);
                     break;
                 case 0:  // ordinary index
                     lasto++;
@@ -104,18 +227,24 @@ public final class Printf {
                     if (args != null && lasto > args.length - 1) {
                         throw new MissingFormatArgumentException(fs.toString());
                     }
-                    fs.print(( args == null ? null : args[lasto] ), this.locale);
+                    this.print(fs, out, args, unboxedArgs, lasto);
                     break;
                 default:  // explicit index
                     last = index - 1;
                     if (args != null && last > args.length - 1) {
                         throw new MissingFormatArgumentException(fs.toString());
                     }
-                    fs.print(( args == null ? null : args[last] ), this.locale);
+                    this.print(fs, out, args, unboxedArgs, last);
                     break;
             }
         }
-        return this.appendable.toString();
+    }
+
+    private void print(Printf.FormatString fs, Appendable out, Object[] args, long[] unboxedArgs, int argIndex) throws IOException {
+        Object arg = ( args == null ? null : args[argIndex] );
+        if (!fs.printFast(out, arg, unboxedArgs, argIndex)) {
+            fs.print(arg, this.locale);
+        }
     }
 
     private Printf.FormatString[] parse(String s) {
@@ -158,6 +287,11 @@ public final class Printf {
 
         void print(Object arg, Locale l) throws IOException;
 
+        // prints simple specifiers straight into out, false if the slow path has to be taken
+        boolean printFast(Appendable out, Object arg, long[] unboxedArgs, int argIndex) throws IOException;
+
+        boolean isFastDecimal();
+
         String toString();
     }
 
@@ -503,7 +637,14 @@ public final class Printf {
 
         public int index() { return -2; }
 
-        public void print(Object arg, Locale l) throws IOException { Printf.this.appendable.append(s); }
+        public void print(Object arg, Locale l) throws IOException { Printf.this.out().append(s); }
+
+        public boolean printFast(Appendable out, Object arg, long[] unboxedArgs, int argIndex) throws IOException {
+            out.append(s);
+            return true;
+        }
+
+        public boolean isFastDecimal() { return false; }
 
         public String toString() { return s; }
     }
@@ -516,6 +657,7 @@ public final class Printf {
         private int precision;
         private boolean dt = false;
         private char c;
+        private int fast = SLOW;
 
         FormatSpecifier(Matcher m) {
             int idx = 1;
@@ -550,6 +692,51 @@ public final class Printf {
             } else {
                 throw new UnknownFormatConversionException(String.valueOf(c));
             }
+
+            // without flags other than zero padding and with a plain zero digit the Locale does not change the output
+            // the '<' flag only selects the argument
+            int flags = f.valueOf() & ~Printf.Flags.PREVIOUS.valueOf();
+            if (!dt && precision == -1 && Printf.this.zero == '0') {
+                if (c == Printf.Conversion.DECIMAL_INTEGER && flags == Printf.Flags.NONE.valueOf() && width == -1) {
+                    fast = FAST_DECIMAL;
+                } else if (c == Printf.Conversion.DECIMAL_INTEGER && flags == Printf.Flags.ZERO_PAD.valueOf() && width > 0) {
+                    fast = FAST_ZERO_PADDED_DECIMAL;
+                } else if (c == Printf.Conversion.STRING && flags == Printf.Flags.NONE.valueOf() && width == -1) {
+                    fast = FAST_STRING;
+                }
+            }
+        }
+
+        public boolean isFastDecimal() {
+            return fast == FAST_DECIMAL || fast == FAST_ZERO_PADDED_DECIMAL;
+        }
+
+        public boolean printFast(Appendable out, Object arg, long[] unboxedArgs, int argIndex) throws IOException {
+            if (fast == FAST_STRING) {
+                if (arg instanceof CharSequence) {
+                    out.append((CharSequence) arg);
+                } else {
+                    out.append(arg == null ? "null" : arg.toString());
+                }
+                return true;
+            }
+            if (fast == SLOW) {
+                return false;
+            }
+            long value;
+            if (arg == UNBOXED) {
+                value = unboxedArgs[argIndex];
+            } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+                value = ( (Number) arg ).longValue();
+            } else {
+                return false;
+            }
+            if (fast == FAST_DECIMAL) {
+                appendDecimal(out, value);
+            } else {
+                appendZeroPaddedDecimal(out, value, width);
+            }
+            return true;
         }
 
         private int index(String s) {
@@ -776,7 +963,7 @@ public final class Printf {
             if (f.contains(Printf.Flags.UPPERCASE)) {
                 s = s.toUpperCase();
             }
-            appendable.append(justify(s));
+            Printf.this.out().append(justify(s));
         }
 
         private String justify(String s) {
@@ -892,10 +1079,10 @@ public final class Printf {
                     printHashCode(arg);
                     break;
                 case Printf.Conversion.LINE_SEPARATOR:
-                    Printf.this.appendable.append(System.lineSeparator());
+                    Printf.this.out().append(System.lineSeparator());
                     break;
                 case Printf.Conversion.PERCENT_SIGN:
-                    Printf.this.appendable.append('%');
+                    Printf.this.out().append('%');
                     break;
                 default:
                     assert false;
@@ -1060,7 +1247,7 @@ public final class Printf {
             }
 
             // justify based on width
-            appendable.append(justify(sb.toString()));
+            Printf.this.out().append(justify(sb.toString()));
         }
 
         // neg := val < 0
@@ -1148,7 +1335,7 @@ public final class Printf {
             trailingSign(sb, ( value.signum() == -1 ));
 
             // justify based on width
-            appendable.append(justify(sb.toString()));
+            Printf.this.out().append(justify(sb.toString()));
         }
 
         private void print(float value, Locale l) throws IOException {
@@ -1179,7 +1366,7 @@ public final class Printf {
             }
 
             // justify based on width
-            appendable.append(justify(sb.toString()));
+            Printf.this.out().append(justify(sb.toString()));
         }
 
         // !Double.isInfinite(value) && !Double.isNaN(value)
@@ -1485,7 +1672,7 @@ public final class Printf {
             trailingSign(sb, neg);
 
             // justify based on width
-            Printf.this.appendable.append(justify(sb.toString()));
+            Printf.this.out().append(justify(sb.toString()));
         }        public String toString() {
             StringBuilder sb = new StringBuilder("%");
             // Flags.UPPERCASE is set internally for legal conversions.
@@ -1682,7 +1869,7 @@ public final class Printf {
                 s = s.toUpperCase();
             }
 
-            Printf.this.appendable.append(s);
+            Printf.this.out().append(s);
         }
 
         private Appendable print(StringBuilder sb, Calendar t, char c, Locale l) throws IOException {
@@ -1904,7 +2091,7 @@ public final class Printf {
             if (f.contains(Printf.Flags.UPPERCASE)) {
                 s = s.toUpperCase();
             }
-            Printf.this.appendable.append(s);
+            Printf.this.out().append(s);
         }
 
         private Appendable print(StringBuilder sb, TemporalAccessor t, char c, Locale l) throws IOException {
@@ -1,16 +1,15 @@
 package org.keremulutas.mockeyjockey.utils;
 
 import com.google.gson.*;
+import org.keremulutas.mockeyjockey.core.sink.Compression;
+import org.keremulutas.mockeyjockey.core.sink.NdjsonSink;
 
-import java.io.FileOutputStream;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.lang.reflect.Type;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
-import java.util.zip.GZIPOutputStream;
 
 public class Utils {
 
@@ -45,61 +44,19 @@ public class Utils {
     }
 
     public static void writeJson(String file, List<?> list) {
-        try (
-            FileWriter writer = new FileWriter(file);
-        ) {
-            for (int i = 0, j = list.size(); i < j; i++) {
-                Object next = list.get(i);
-                String jsonStr = Utils.gson.toJson(next);
-
-                writer.write(jsonStr);
-                writer.write(Constants.newline);
-                writer.flush();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        // try (
-        //     BufferedOutputStream bos = new BufferedOutputStream(
-        //         new FileOutputStream(outputFile)
-        //     );
-        // ) {
-        //     for (int i = 0, j = objList.size(); i < j; i++) {
-        //         Object next = objList.get(i);
-        //         String jsonStr = Utils.gson.toJson(next);
-        //
-        //         bos.write(jsonStr.getBytes());
-        //         bos.write(newline.getBytes());
-        //         bos.flush();
-        //     }
-        // } catch (IOException e) {
-        //     e.printStackTrace();
-        // }
+        Iterator<?> iterator = list.iterator();
+        new NdjsonSink<>(iterator::next, file)
+            .records(list.size())
+            .write();
     }
 
+    // every record is encoded once and written to both files
     public static void writeJsonAndGzip(String file, String gzipFile, List<?> list) {
-        try (
-            FileWriter writer = new FileWriter(file);
-
-            FileOutputStream outputStream = new FileOutputStream(gzipFile);
-            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
-        ) {
-            for (int i = 0, j = list.size(); i < j; i++) {
-                Object next = list.get(i);
-                String jsonStr = Utils.gson.toJson(next);
-
-                writer.write(jsonStr);
-                writer.write(Constants.newline);
-                writer.flush();
-
-                gzipOutputStream.write(jsonStr.getBytes());
-                gzipOutputStream.write(Constants.newline.getBytes());
-                gzipOutputStream.flush();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        Iterator<?> iterator = list.iterator();
+        new NdjsonSink<>(iterator::next, file)
+            .records(list.size())
+            .tee(gzipFile, Compression.GZIP)
+            .write();
     }
 
     private static class ZonedDateTimeSerializer implements JsonSerializer<ZonedDateTime> {
@@ -4,17 +4,17 @@ import org.keremulutas.mockeyjockey.MockeyJockey;
 import org.keremulutas.mockeyjockey.core.generator.IpAddressGenerator;
 import org.keremulutas.mockeyjockey.core.generator.GenericObjectGenerator;
 import org.keremulutas.mockeyjockey.core.generator.ZonedDateTimeGenerator;
+import org.keremulutas.mockeyjockey.core.sink.DatasetExporter;
+import org.keremulutas.mockeyjockey.core.sink.DelimitedSink;
 import org.keremulutas.mockeyjockey.core.type.GenericObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -27,12 +27,14 @@ public class DummyPackageInformation {
     private static int fileCount;
     private static int fileCountDigits;
     private static int lineCount;
-    private static String fieldSeparator = "|";
+    private static int threadCount = Runtime.getRuntime().availableProcessors();
+    private static ZonedDateTime startTime = ZonedDateTime.now();
+    private static char fieldSeparator = '|';
     private static String lineSeparator = "\n";
 
     public static void main(String[] args) throws IOException {
-        if (args.length != 2) {
-            LOGGER.info("Usage: .... <file fileCount: int> <line fileCount: int>");
+        if (args.length != 2 && args.length != 3) {
+            LOGGER.info("Usage: .... <file fileCount: int> <line fileCount: int> [thread count: int]");
             System.exit(1);
         }
 
@@ -46,20 +48,53 @@ public class DummyPackageInformation {
             if (lineCount <= 0) {
                 throw new RuntimeException("Line count must be positive, given: " + lineCount);
             }
-            LOGGER.info("Going to create {} files with {} line(s) each", fileCount, lineCount);
+            if (args.length == 3) {
+                threadCount = Integer.parseInt(args[2], 10);
+                if (threadCount <= 0) {
+                    throw new RuntimeException("Thread count must be positive, given: " + threadCount);
+                }
+            }
+            LOGGER.info("Going to create {} files with {} line(s) each on {} thread(s)", fileCount, lineCount, threadCount);
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
             System.exit(-1);
         }
 
+        long ts = Instant.now().toEpochMilli();
+        new DatasetExporter<GenericObject>(mj, DummyPackageInformation::buildGraph, "./" + ts + "_dummy%0" + fileCountDigits + "d.csv")
+            .files(fileCount)
+            .linesPerFile(lineCount)
+            .threads(threadCount)
+            .writer((records, count, path) -> new DelimitedSink(records, path)
+                .columns("user", "source_ip", "source_port", "msisdn", "imsi", "start_ts", "end_ts", "target_ip", "target_port", "fqdn", "in", "out", "device_ip")
+                .delimiter(fieldSeparator)
+                .quoting(DelimitedSink.Quoting.NONE)
+                .lineSeparator(lineSeparator)
+                .records(count)
+                .write())
+            .export();
+    }
+
+    // every file gets a graph of its own, the sequences continue from the first line of the file
+    private static GenericObjectGenerator buildGraph(DatasetExporter.Partition partition) {
+        MockeyJockey mj = partition.getMockeyJockey();
+        long from = partition.getFrom();
+
+        // 10 packages per second, the first line of the file may be in the middle of a second
         ZonedDateTimeGenerator.WithFrequency dateTimeGenerator = mj.zonedDateTimesWithFrequency()
-            .start(ZonedDateTime.now())
+            .start(startTime.plusSeconds(from / 10))
             .frequency(10L, 1, ChronoUnit.SECONDS);
+        dateTimeGenerator.skip(from % 10);
+
+        IpAddressGenerator sourceIpGenerator = mj.ipAddressesSequential().startFrom("192.168.1.1");
+        sourceIpGenerator.skip(from);
 
-        IpAddressGenerator ipGenerator = mj.ipAddressesSequential().startFrom("192.168.1.1");
+        // a new target every 10.000 packages
+        IpAddressGenerator targetIpGenerator = mj.ipAddressesSequential().startFrom("10.0.0.1");
+        targetIpGenerator.skip(from / 10_000);
 
-        GenericObjectGenerator mg = mj.genericObjects()
-            .field("user", mj.strings().length(6))
+        return mj.genericObjects()
+            .field("user", mj.formattedString("%s@ttnet").param(mj.strings().length(6)))
             .field("start_ts", mj.custom(String.class, new Supplier<String>() {
                 private DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
 
@@ -73,13 +108,13 @@ public class DummyPackageInformation {
             .field("out", mj.longs().min(1000).max(100_000))
             .field("fqdn", mj.formattedString("fqdn.%s").param(mj.randomSelection(String.class).withElements("com", "net", "org", "info", "biz", "com.tr", "net.tr", "org.tr")))
             .mutate(new Function<GenericObject, GenericObject>() {
-                int counter = 0;
+                long counter = from;
                 String val;
 
                 @Override
                 public GenericObject apply(GenericObject stringObjectMap) {
-                    if (counter % 10_000 == 0) {
-                        val = ipGenerator.get();
+                    if (val == null || counter % 10_000 == 0) {
+                        val = targetIpGenerator.get();
                     }
                     counter++;
                     stringObjectMap.put("target_ip", val);
@@ -87,41 +122,9 @@ public class DummyPackageInformation {
                 }
             })
             .field("target_port", mj.integers().min(1000).max(65535))
-            .field("source_ip", ipGenerator)
+            .field("source_ip", sourceIpGenerator)
             .field("source_port", mj.integers().min(1000).max(65535))
             .field("device_ip", mj.randomSelection(String.class).withElements("dev1", "dev2", "dev3", "dev4"));
-
-        long ts = Instant.now().toEpochMilli();
-        for (int i = 1; i <= fileCount; i++) {
-            String currentFileName = String.format(ts + "_dummy%0" + fileCountDigits + "d.csv", i);
-            LOGGER.info("processing file: {}", currentFileName);
-            FileOutputStream outputStream = new FileOutputStream("./" + currentFileName);
-
-            for (int j = 0; j < lineCount; j++) {
-                Map<String, Object> next = mg.get();
-                String line = String.join(
-                    fieldSeparator,
-                    next.get("user").toString() + "@ttnet",
-                    next.get("source_ip").toString(),
-                    next.get("source_port").toString(),
-                    "",
-                    "",
-                    next.get("start_ts").toString(),
-                    next.get("end_ts").toString(),
-                    next.get("target_ip").toString(),
-                    next.get("target_port").toString(),
-                    next.get("fqdn").toString(),
-                    next.get("in").toString(),
-                    next.get("out").toString(),
-                    next.get("device_ip").toString()
-                );
-                outputStream.write(line.getBytes());
-                outputStream.write(lineSeparator.getBytes());
-            }
-
-            outputStream.close();
-        }
-
     }
 
 }
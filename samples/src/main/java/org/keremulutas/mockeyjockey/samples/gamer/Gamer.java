@@ -22,10 +22,10 @@ public class Gamer {
         Generator<Void, Integer> idGenerator = mj.integers().min(1).withExplicitReset(true);
         Generator<Void, String> tokenGenerator = mj.formattedString("token-%d").param(idGenerator).withExplicitReset(true);
 
-        Generator<Void, String> loginDateTimeGenerator = mj.zonedDateTimesWithFrequency()
+        ZonedDateTimeGenerator.WithFrequency loginDateTimes = mj.zonedDateTimesWithFrequency()
             .start(ZonedDateTime.now())
-            .frequency(10L, 1, ChronoUnit.MINUTES)
-            .transform(String.class, zonedDateTime -> String.valueOf(zonedDateTime.toInstant().getEpochSecond()));
+            .frequency(10L, 1, ChronoUnit.MINUTES);
+        Generator<Void, String> loginDateTimeGenerator = mj.custom(String.class, () -> String.valueOf(loginDateTimes.nextEpochSecond()));
 
         // {
         //     "token": "test2",